@@ -0,0 +1,7 @@
+package com.nexdom.nexdomestoquechallenger.alert;
+
+import com.nexdom.nexdomestoquechallenger.entity.StockAlert;
+
+public interface AlertSink {
+    void deliver(StockAlert alert);
+}
@@ -0,0 +1,15 @@
+package com.nexdom.nexdomestoquechallenger.alert;
+
+import com.nexdom.nexdomestoquechallenger.entity.StockAlert;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class LogAlertSink implements AlertSink {
+
+    @Override
+    public void deliver(StockAlert alert) {
+        log.warn("[{}] {}", alert.getSeverity(), alert.getMessage());
+    }
+}
@@ -0,0 +1,20 @@
+package com.nexdom.nexdomestoquechallenger.alert;
+
+import com.nexdom.nexdomestoquechallenger.entity.StockAlert;
+import com.nexdom.nexdomestoquechallenger.repository.StockAlertRepository;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PersistentAlertSink implements AlertSink {
+
+    private final StockAlertRepository stockAlertRepository;
+
+    public PersistentAlertSink(StockAlertRepository stockAlertRepository) {
+        this.stockAlertRepository = stockAlertRepository;
+    }
+
+    @Override
+    public void deliver(StockAlert alert) {
+        stockAlertRepository.save(alert);
+    }
+}
@@ -0,0 +1,183 @@
+package com.nexdom.nexdomestoquechallenger.alert;
+
+import com.nexdom.nexdomestoquechallenger.config.StockAlertProperties;
+import com.nexdom.nexdomestoquechallenger.dto.projection.PostedMovement;
+import com.nexdom.nexdomestoquechallenger.entity.StockAlert;
+import com.nexdom.nexdomestoquechallenger.enums.AlertSeverity;
+import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+import com.nexdom.nexdomestoquechallenger.event.MovementsPostedEvent;
+import com.nexdom.nexdomestoquechallenger.event.ProductUpdatedEvent;
+import com.nexdom.nexdomestoquechallenger.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class StockAlertDispatcher {
+
+    private static final int CATEGORY_CACHE_SIZE = 10000;
+
+    private final StockAlertProperties properties;
+    private final ProductRepository productRepository;
+    private final List<AlertSink> sinks;
+    private final BlockingQueue<PostedMovement> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Queue<Long> staleCategories = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private LocalDateTime lastPrune = LocalDateTime.now();
+
+    private final Map<Long, LastAlert> lastAlerts = new HashMap<>();
+    private final Map<Long, Deque<LocalDateTime>> breaches = new HashMap<>();
+    private final Map<Long, String> categories = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+            return size() > CATEGORY_CACHE_SIZE;
+        }
+    };
+
+    public StockAlertDispatcher(StockAlertProperties properties,
+                                ProductRepository productRepository,
+                                List<AlertSink> sinks) {
+        this.properties = properties;
+        this.productRepository = productRepository;
+        this.sinks = sinks;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacidadeFila());
+        this.worker = new Thread(this::run, "estoque-alertas");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMovementsPosted(MovementsPostedEvent event) {
+        for (PostedMovement movement : event.getMovements()) {
+            if (movement.getType() == MovementType.SAIDA && !queue.offer(movement)) {
+                long total = dropped.incrementAndGet();
+                if (total % 1000 == 1) {
+                    log.warn("Fila de alertas cheia, {} avaliações descartadas até agora", total);
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductUpdated(ProductUpdatedEvent event) {
+        staleCategories.add(event.getProductId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                PostedMovement movement = queue.poll(1, TimeUnit.SECONDS);
+                for (Long productId = staleCategories.poll(); productId != null; productId = staleCategories.poll()) {
+                    categories.remove(productId);
+                }
+                if (movement != null) {
+                    evaluate(movement);
+                }
+                pruneExpired();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Falha ao avaliar alerta de estoque", e);
+            }
+        }
+    }
+
+    private void evaluate(PostedMovement movement) {
+        Integer threshold = thresholdFor(movement);
+        if (threshold == null || movement.getResultingStock() >= threshold) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Deque<LocalDateTime> history = breaches.computeIfAbsent(movement.getProductId(), id -> new ArrayDeque<>());
+        history.addLast(now);
+        LocalDateTime escalationStart = now.minus(properties.getJanelaEscalonamento());
+        while (!history.isEmpty() && history.peekFirst().isBefore(escalationStart)) {
+            history.pollFirst();
+        }
+
+        AlertSeverity severity = movement.getResultingStock() <= 0 || history.size() >= properties.getEscalonarApos() ?
+                AlertSeverity.CRITICO :
+                AlertSeverity.ALERTA;
+
+        LastAlert last = lastAlerts.get(movement.getProductId());
+        boolean debounced = last != null &&
+                last.sentAt().isAfter(now.minus(properties.getJanelaDebounce())) &&
+                last.severity().compareTo(severity) >= 0;
+        if (debounced) {
+            return;
+        }
+        lastAlerts.put(movement.getProductId(), new LastAlert(now, severity));
+
+        StockAlert alert = new StockAlert();
+        alert.setProductId(movement.getProductId());
+        alert.setProductName(movement.getProductName());
+        alert.setSeverity(severity);
+        alert.setStockQuantity(movement.getResultingStock());
+        alert.setThreshold(threshold);
+        alert.setMessage("Estoque do produto " + movement.getProductName() +
+                " está abaixo do mínimo (" + threshold + "). Disponível: " + movement.getResultingStock());
+        alert.setCreatedAt(now);
+
+        for (AlertSink sink : sinks) {
+            try {
+                sink.deliver(alert);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao entregar alerta via {}: {}", sink.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private void pruneExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastPrune.isAfter(now.minus(properties.getJanelaDebounce()))) {
+            return;
+        }
+        lastPrune = now;
+        LocalDateTime debounceStart = now.minus(properties.getJanelaDebounce());
+        LocalDateTime escalationStart = now.minus(properties.getJanelaEscalonamento());
+        lastAlerts.values().removeIf(last -> last.sentAt().isBefore(debounceStart));
+        breaches.values().removeIf(history -> {
+            while (!history.isEmpty() && history.peekFirst().isBefore(escalationStart)) {
+                history.pollFirst();
+            }
+            return history.isEmpty();
+        });
+    }
+
+    private Integer thresholdFor(PostedMovement movement) {
+        if (properties.getLimiteCategoria().isEmpty()) {
+            return movement.getMinimumStock();
+        }
+        String category = categories.computeIfAbsent(movement.getProductId(),
+                id -> productRepository.findCategoryNameById(id).orElse(""));
+        Integer categoryThreshold = properties.getLimiteCategoria().get(category);
+        return categoryThreshold != null ? categoryThreshold : movement.getMinimumStock();
+    }
+
+    private record LastAlert(LocalDateTime sentAt, AlertSeverity severity) {
+    }
+}
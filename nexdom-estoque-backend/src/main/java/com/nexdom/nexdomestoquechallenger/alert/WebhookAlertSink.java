@@ -0,0 +1,39 @@
+package com.nexdom.nexdomestoquechallenger.alert;
+
+import com.nexdom.nexdomestoquechallenger.config.StockAlertProperties;
+import com.nexdom.nexdomestoquechallenger.dto.response.StockAlertResponse;
+import com.nexdom.nexdomestoquechallenger.entity.StockAlert;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+@Component
+@ConditionalOnExpression("!'${estoque.alertas.webhook-url:}'.isBlank()")
+public class WebhookAlertSink implements AlertSink {
+
+    private final RestClient restClient;
+    private final String url;
+
+    public WebhookAlertSink(RestClient.Builder restClientBuilder,
+                            StockAlertProperties properties,
+                            @Value("${estoque.alertas.webhook-url}") String url) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getWebhookTimeoutConexao());
+        requestFactory.setReadTimeout(properties.getWebhookTimeoutLeitura());
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.url = url;
+    }
+
+    @Override
+    public void deliver(StockAlert alert) {
+        restClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(StockAlertResponse.of(alert))
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
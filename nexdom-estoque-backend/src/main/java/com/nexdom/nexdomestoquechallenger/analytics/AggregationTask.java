@@ -0,0 +1,95 @@
+package com.nexdom.nexdomestoquechallenger.analytics;
+
+import com.nexdom.nexdomestoquechallenger.enums.AnalyticsGroup;
+import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
+
+class AggregationTask extends RecursiveTask<Map<Long, long[]>> {
+
+    static final int METRICS = 6;
+
+    private static final byte ENTRY = (byte) MovementType.ENTRADA.ordinal();
+
+    private final MovementColumns columns;
+    private final ColumnFilter filter;
+    private final AnalyticsGroup group;
+    private final byte saleReason;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    AggregationTask(MovementColumns columns, ColumnFilter filter, AnalyticsGroup group, byte saleReason,
+                    int from, int to, int threshold) {
+        this.columns = columns;
+        this.filter = filter;
+        this.group = group;
+        this.saleReason = saleReason;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected Map<Long, long[]> compute() {
+        if (to - from <= threshold) {
+            return aggregate();
+        }
+        int middle = (from + to) >>> 1;
+        AggregationTask left = new AggregationTask(columns, filter, group, saleReason, from, middle, threshold);
+        AggregationTask right = new AggregationTask(columns, filter, group, saleReason, middle, to, threshold);
+        left.fork();
+        Map<Long, long[]> result = right.compute();
+        return merge(result, left.join());
+    }
+
+    private Map<Long, long[]> aggregate() {
+        Map<Long, long[]> totals = new HashMap<>();
+        for (int row = from; row < to; row++) {
+            if (!filter.matches(columns, row)) {
+                continue;
+            }
+            long[] metrics = totals.computeIfAbsent(key(row), key -> new long[METRICS]);
+            int quantity = columns.quantities[row];
+            metrics[0]++;
+            if (columns.types[row] == ENTRY) {
+                metrics[1] += quantity;
+            } else {
+                metrics[2] += quantity;
+                if (columns.reasons[row] == saleReason) {
+                    metrics[3] += quantity;
+                    metrics[4] += quantity * columns.priceCents[row];
+                    metrics[5] += quantity * columns.costCents[row];
+                }
+            }
+        }
+        return totals;
+    }
+
+    private long key(int row) {
+        return switch (group) {
+            case PRODUTO -> columns.productIds[row];
+            case CATEGORIA -> columns.categoryIds[row];
+            case DIA -> columns.epochDays[row];
+            case MES -> {
+                LocalDate day = LocalDate.ofEpochDay(columns.epochDays[row]);
+                yield day.getYear() * 12L + day.getMonthValue() - 1;
+            }
+            case TIPO -> columns.types[row];
+            case MOTIVO -> columns.reasons[row];
+        };
+    }
+
+    private static Map<Long, long[]> merge(Map<Long, long[]> target, Map<Long, long[]> source) {
+        source.forEach((key, metrics) -> target.merge(key, metrics, (a, b) -> {
+            for (int i = 0; i < METRICS; i++) {
+                a[i] += b[i];
+            }
+            return a;
+        }));
+        return target;
+    }
+}
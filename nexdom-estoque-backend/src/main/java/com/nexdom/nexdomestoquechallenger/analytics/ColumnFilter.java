@@ -0,0 +1,15 @@
+package com.nexdom.nexdomestoquechallenger.analytics;
+
+record ColumnFilter(int fromDay, int toDay, int type, int reason, long productId, long categoryId) {
+
+    static final int ANY = Integer.MIN_VALUE;
+
+    boolean matches(MovementColumns columns, int row) {
+        int day = columns.epochDays[row];
+        return day >= fromDay && day <= toDay &&
+                (type == ANY || columns.types[row] == type) &&
+                (reason == ANY || columns.reasons[row] == reason) &&
+                (productId == 0 || columns.productIds[row] == productId) &&
+                (categoryId == 0 || columns.categoryIds[row] == categoryId);
+    }
+}
@@ -0,0 +1,333 @@
+package com.nexdom.nexdomestoquechallenger.analytics;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.PostedMovement;
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductDimensions;
+import com.nexdom.nexdomestoquechallenger.dto.request.AnalyticsQueryRequest;
+import com.nexdom.nexdomestoquechallenger.dto.response.AnalyticsComparisonResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.AnalyticsResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.AnalyticsRowResponse;
+import com.nexdom.nexdomestoquechallenger.enums.AnalyticsGroup;
+import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+import com.nexdom.nexdomestoquechallenger.event.MovementsPostedEvent;
+import com.nexdom.nexdomestoquechallenger.repository.DailyRollupRepository;
+import com.nexdom.nexdomestoquechallenger.service.StockReconciliationService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class MovementAnalyticsEngine {
+
+    private static final String SALE_REASON = "VENDA";
+    private static final String OTHER_REASON = "OUTROS";
+    private static final String NO_REASON_LABEL = "SEM_MOTIVO";
+    private static final byte NO_REASON = 0;
+    private static final byte SALE_CODE = 1;
+    private static final byte OVERFLOW_CODE = Byte.MAX_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final DailyRollupRepository rollupRepository;
+    private final ForkJoinPool pool;
+    private final int blockSize;
+    private final boolean enabled;
+    private final int loadBatchSize;
+
+    private final List<String> reasonNames = new ArrayList<>();
+    private final Map<String, Byte> reasonCodes = new HashMap<>();
+    private final List<PostedMovement> pendingDuringLoad = new ArrayList<>();
+    private final Map<Long, ProductDimensions> pendingDimensions = new HashMap<>();
+    private volatile MovementColumns columns = MovementColumns.empty(16);
+    private boolean loading;
+
+    public MovementAnalyticsEngine(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            DailyRollupRepository rollupRepository,
+            @Value("${estoque.analytics.paralelismo:0}") int parallelism,
+            @Value("${estoque.analytics.tamanho-bloco:65536}") int blockSize,
+            @Value("${estoque.analytics.habilitado:false}") boolean enabled,
+            @Value("${estoque.analytics.tamanho-lote-carga:50000}") int loadBatchSize,
+            @Value("${estoque.exportacao.fetch-size:1000}") int fetchSize
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rollupRepository = rollupRepository;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.blockSize = blockSize;
+        this.enabled = enabled;
+        this.loadBatchSize = loadBatchSize;
+        reasonNames.add(null);
+        reasonNames.add(SALE_REASON);
+        reasonCodes.put(SALE_REASON, SALE_CODE);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            log.info("Motor analítico desabilitado (estoque.analytics.habilitado=false)");
+            return;
+        }
+        synchronized (this) {
+            loading = true;
+        }
+        long start = System.currentTimeMillis();
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movimentacao", Long.class);
+        int expected = (int) Math.min(total != null ? total : 0, Integer.MAX_VALUE - 8);
+        MovementColumns[] loaded = {MovementColumns.empty(expected)};
+        int[] size = {0};
+        long[] lastId = {0};
+        int read;
+        do {
+            read = readOnlyTransaction.execute(status -> {
+                int before = size[0];
+                jdbcTemplate.query(
+                        "SELECT m.id, m.produto_id, p.categoria_id, m.quantidade, m.sale_price, p.supplier_price, " +
+                                "m.data_hora, m.tipo, m.motivo FROM movimentacao m " +
+                                "JOIN produtos p ON p.id = m.produto_id " +
+                                "WHERE m.id > ? AND m.motivo IS DISTINCT FROM ? ORDER BY m.id LIMIT ?",
+                        rs -> {
+                            loaded[0] = loaded[0].ensureCapacity(size[0] + 1);
+                            Timestamp dateTime = rs.getTimestamp("data_hora");
+                            lastId[0] = rs.getLong("id");
+                            loaded[0].set(size[0]++,
+                                    lastId[0],
+                                    rs.getLong("produto_id"),
+                                    rs.getLong("categoria_id"),
+                                    rs.getInt("quantidade"),
+                                    cents(rs.getDouble("sale_price")),
+                                    cents(rs.getDouble("supplier_price")),
+                                    (int) dateTime.toLocalDateTime().toLocalDate().toEpochDay(),
+                                    (byte) MovementType.valueOf(rs.getString("tipo")).ordinal(),
+                                    reasonCode(rs.getString("motivo")));
+                        },
+                        lastId[0], StockReconciliationService.ADJUSTMENT_REASON, loadBatchSize);
+                return size[0] - before;
+            });
+        } while (read == loadBatchSize);
+
+        synchronized (this) {
+            int loadedSize = size[0];
+            columns = loaded[0].withSize(loadedSize);
+            List<PostedMovement> missed = pendingDuringLoad.stream()
+                    .filter(movement -> !columns.containsLoadedId(loadedSize, movement.getId()))
+                    .collect(Collectors.toList());
+            Map<Long, ProductDimensions> dimensions = new HashMap<>(pendingDimensions);
+            pendingDuringLoad.clear();
+            pendingDimensions.clear();
+            loading = false;
+            append(missed, dimensions);
+        }
+        log.info("Motor analítico carregou {} movimentações ({} bytes) em {} ms",
+                columns.size(), columns.capacityBytes(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMovementsPosted(MovementsPostedEvent event) {
+        List<PostedMovement> movements = event.getMovements();
+        if (!enabled || movements.isEmpty()) {
+            return;
+        }
+        Map<Long, ProductDimensions> dimensions = rollupRepository.findDimensions(movements.stream()
+                .map(PostedMovement::getProductId)
+                .collect(Collectors.toSet()));
+        synchronized (this) {
+            if (loading) {
+                pendingDuringLoad.addAll(movements);
+                pendingDimensions.putAll(dimensions);
+                return;
+            }
+            append(movements, dimensions);
+        }
+    }
+
+    private void append(List<PostedMovement> movements, Map<Long, ProductDimensions> dimensions) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        MovementColumns target = columns.ensureCapacity(columns.size() + movements.size());
+        int size = target.size;
+        for (PostedMovement movement : movements) {
+            ProductDimensions product = dimensions.get(movement.getProductId());
+            if (product == null || StockReconciliationService.ADJUSTMENT_REASON.equals(movement.getReason())) {
+                continue;
+            }
+            target.set(size++,
+                    movement.getId(),
+                    movement.getProductId(),
+                    product.categoryId(),
+                    movement.getQuantity(),
+                    cents(movement.getSalePrice() != null ? movement.getSalePrice() : 0.0),
+                    cents(product.supplierPrice()),
+                    (int) movement.getDateTime().toLocalDate().toEpochDay(),
+                    (byte) movement.getType().ordinal(),
+                    reasonCode(movement.getReason()));
+        }
+        columns = target.withSize(size);
+    }
+
+    public AnalyticsResponse query(AnalyticsQueryRequest request) {
+        requireEnabled();
+        long start = System.nanoTime();
+        MovementColumns snapshot = columns;
+        Map<Long, long[]> totals = aggregate(snapshot, request);
+        List<AnalyticsRowResponse> rows = totals.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> AnalyticsRowResponse.of(label(request.getAgrupar(), entry.getKey()), entry.getValue()))
+                .collect(Collectors.toList());
+        return AnalyticsResponse.builder()
+                .linhas(rows)
+                .registrosEmMemoria((long) snapshot.size())
+                .bytesEmMemoria(snapshot.capacityBytes())
+                .tempoMs((System.nanoTime() - start) / 1_000_000)
+                .build();
+    }
+
+    public AnalyticsComparisonResponse compare(AnalyticsQueryRequest request) {
+        requireEnabled();
+        MovementColumns snapshot = columns;
+        long memoryStart = System.nanoTime();
+        int memoryGroups = aggregate(snapshot, request).size();
+        long memoryNanos = System.nanoTime() - memoryStart;
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(request.getAgrupar().getSqlExpression())
+                .append(" AS chave, COUNT(*), SUM(CASE WHEN m.tipo = 'ENTRADA' THEN m.quantidade ELSE 0 END), ")
+                .append("SUM(CASE WHEN m.tipo = 'SAIDA' THEN m.quantidade ELSE 0 END), ")
+                .append("SUM(CASE WHEN m.tipo = 'SAIDA' AND m.motivo = 'VENDA' ")
+                .append("THEN m.quantidade * (COALESCE(m.sale_price, 0) - p.supplier_price) ELSE 0 END) ")
+                .append("FROM movimentacao m JOIN produtos p ON p.id = m.produto_id ")
+                .append("WHERE m.motivo IS DISTINCT FROM 'AJUSTE_RECONCILIACAO'");
+        if (request.getDe() != null) {
+            sql.append(" AND m.data_hora >= ?");
+            args.add(request.getDe().atStartOfDay());
+        }
+        if (request.getAte() != null) {
+            sql.append(" AND m.data_hora < ?");
+            args.add(request.getAte().plusDays(1).atStartOfDay());
+        }
+        if (request.getTipo() != null) {
+            sql.append(" AND m.tipo = ?");
+            args.add(request.getTipo().name());
+        }
+        if (request.getMotivo() != null) {
+            sql.append(" AND m.motivo = ?");
+            args.add(request.getMotivo());
+        }
+        if (request.getProdutoId() != null) {
+            sql.append(" AND m.produto_id = ?");
+            args.add(request.getProdutoId());
+        }
+        if (request.getCategoriaId() != null) {
+            sql.append(" AND p.categoria_id = ?");
+            args.add(request.getCategoriaId());
+        }
+        sql.append(" GROUP BY 1");
+
+        long sqlStart = System.nanoTime();
+        int sqlGroups = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> rowNum, args.toArray()).size();
+        long sqlNanos = System.nanoTime() - sqlStart;
+
+        Long tableBytes = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(pg_total_relation_size(inhrelid)), pg_total_relation_size('movimentacao')) " +
+                        "FROM pg_inherits WHERE inhparent = 'movimentacao'::regclass", Long.class);
+        return AnalyticsComparisonResponse.builder()
+                .registros((long) snapshot.size())
+                .gruposMemoria(memoryGroups)
+                .gruposSql(sqlGroups)
+                .tempoMemoriaMs(memoryNanos / 1_000_000.0)
+                .tempoSqlMs(sqlNanos / 1_000_000.0)
+                .bytesMemoria(snapshot.capacityBytes())
+                .bytesTabela(tableBytes)
+                .build();
+    }
+
+    private Map<Long, long[]> aggregate(MovementColumns snapshot, AnalyticsQueryRequest request) {
+        if (request.getDe() != null && request.getAte() != null && request.getDe().isAfter(request.getAte())) {
+            throw new IllegalArgumentException("A data inicial não pode ser posterior à data final");
+        }
+        ColumnFilter filter = new ColumnFilter(
+                request.getDe() != null ? (int) request.getDe().toEpochDay() : Integer.MIN_VALUE,
+                request.getAte() != null ? (int) request.getAte().toEpochDay() : Integer.MAX_VALUE,
+                request.getTipo() != null ? request.getTipo().ordinal() : ColumnFilter.ANY,
+                request.getMotivo() != null ? lookupReason(request.getMotivo()) : ColumnFilter.ANY,
+                request.getProdutoId() != null ? request.getProdutoId() : 0,
+                request.getCategoriaId() != null ? request.getCategoriaId() : 0);
+        return pool.invoke(new AggregationTask(snapshot, filter, request.getAgrupar(), SALE_CODE,
+                0, snapshot.size(), blockSize));
+    }
+
+    private void requireEnabled() {
+        if (!enabled) {
+            throw new IllegalStateException("O motor analítico está desabilitado");
+        }
+    }
+
+    private String label(AnalyticsGroup group, long key) {
+        return switch (group) {
+            case PRODUTO, CATEGORIA -> String.valueOf(key);
+            case DIA -> LocalDate.ofEpochDay(key).toString();
+            case MES -> YearMonth.of((int) (key / 12), (int) (key % 12) + 1).toString();
+            case TIPO -> MovementType.values()[(int) key].name();
+            case MOTIVO -> key == NO_REASON ? NO_REASON_LABEL : key == OVERFLOW_CODE ? OTHER_REASON : reasonName((int) key);
+        };
+    }
+
+    private synchronized String reasonName(int code) {
+        return code < reasonNames.size() ? reasonNames.get(code) : null;
+    }
+
+    private synchronized int lookupReason(String reason) {
+        Byte code = reasonCodes.get(reason);
+        return code != null ? code : -1;
+    }
+
+    private synchronized byte reasonCode(String reason) {
+        if (reason == null) {
+            return NO_REASON;
+        }
+        Byte code = reasonCodes.get(reason);
+        if (code != null) {
+            return code;
+        }
+        if (reasonNames.size() >= OVERFLOW_CODE) {
+            return OVERFLOW_CODE;
+        }
+        byte next = (byte) reasonNames.size();
+        reasonNames.add(reason);
+        reasonCodes.put(reason, next);
+        return next;
+    }
+
+    private long cents(double value) {
+        return Math.round(value * 100);
+    }
+}
@@ -0,0 +1,90 @@
+package com.nexdom.nexdomestoquechallenger.analytics;
+
+import java.util.Arrays;
+
+public final class MovementColumns {
+
+    static final int BYTES_PER_ROW = 8 + 8 + 8 + 4 + 8 + 8 + 4 + 1 + 1;
+
+    final long[] ids;
+    final long[] productIds;
+    final long[] categoryIds;
+    final int[] quantities;
+    final long[] priceCents;
+    final long[] costCents;
+    final int[] epochDays;
+    final byte[] types;
+    final byte[] reasons;
+    final int size;
+
+    private MovementColumns(int capacity) {
+        this(new long[capacity], new long[capacity], new long[capacity], new int[capacity], new long[capacity],
+                new long[capacity], new int[capacity], new byte[capacity], new byte[capacity], 0);
+    }
+
+    private MovementColumns(long[] ids, long[] productIds, long[] categoryIds, int[] quantities, long[] priceCents,
+                            long[] costCents, int[] epochDays, byte[] types, byte[] reasons, int size) {
+        this.ids = ids;
+        this.productIds = productIds;
+        this.categoryIds = categoryIds;
+        this.quantities = quantities;
+        this.priceCents = priceCents;
+        this.costCents = costCents;
+        this.epochDays = epochDays;
+        this.types = types;
+        this.reasons = reasons;
+        this.size = size;
+    }
+
+    static MovementColumns empty(int capacity) {
+        return new MovementColumns(Math.max(capacity, 16));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long capacityBytes() {
+        return (long) ids.length * BYTES_PER_ROW;
+    }
+
+    MovementColumns ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return this;
+        }
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        return new MovementColumns(
+                Arrays.copyOf(ids, capacity),
+                Arrays.copyOf(productIds, capacity),
+                Arrays.copyOf(categoryIds, capacity),
+                Arrays.copyOf(quantities, capacity),
+                Arrays.copyOf(priceCents, capacity),
+                Arrays.copyOf(costCents, capacity),
+                Arrays.copyOf(epochDays, capacity),
+                Arrays.copyOf(types, capacity),
+                Arrays.copyOf(reasons, capacity),
+                size);
+    }
+
+    void set(int row, long id, long productId, long categoryId, int quantity, long price, long cost,
+             int epochDay, byte type, byte reason) {
+        ids[row] = id;
+        productIds[row] = productId;
+        categoryIds[row] = categoryId;
+        quantities[row] = quantity;
+        priceCents[row] = price;
+        costCents[row] = cost;
+        epochDays[row] = epochDay;
+        types[row] = type;
+        reasons[row] = reason;
+    }
+
+    MovementColumns withSize(int newSize) {
+        return new MovementColumns(ids, productIds, categoryIds, quantities, priceCents, costCents, epochDays,
+                types, reasons, newSize);
+    }
+
+    boolean containsLoadedId(int loadedSize, long id) {
+        return Arrays.binarySearch(ids, 0, loadedSize, id) >= 0;
+    }
+}
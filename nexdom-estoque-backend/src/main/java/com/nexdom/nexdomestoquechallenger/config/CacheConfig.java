@@ -0,0 +1,28 @@
+package com.nexdom.nexdomestoquechallenger.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CATEGORY = "categoria";
+    public static final String CATEGORIES = "categorias";
+    public static final String SUPPLIER = "fornecedor";
+    public static final String SUPPLIERS = "fornecedores";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${estoque.cache.especificacao:maximumSize=1000,expireAfterWrite=10m,recordStats}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CATEGORY, CATEGORIES, SUPPLIER, SUPPLIERS);
+        cacheManager.setCacheSpecification(spec);
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -19,6 +19,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/produtos/**").permitAll()
                         .requestMatchers("/api/movimentacoes/**").permitAll()
                         .requestMatchers("/api/relatorios/**").permitAll()
+                        .requestMatchers("/api/alertas/**").permitAll()
+                        .requestMatchers("/api/busca/**").permitAll()
                         .requestMatchers("/error").permitAll()
                         .anyRequest().authenticated()
                 )
@@ -0,0 +1,23 @@
+package com.nexdom.nexdomestoquechallenger.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "estoque.alertas")
+public class StockAlertProperties {
+    private int capacidadeFila = 10000;
+    private Map<String, Integer> limiteCategoria = new HashMap<>();
+    private Duration janelaDebounce = Duration.ofMinutes(15);
+    private Duration janelaEscalonamento = Duration.ofHours(1);
+    private int escalonarApos = 3;
+    private String webhookUrl;
+    private Duration webhookTimeoutConexao = Duration.ofSeconds(2);
+    private Duration webhookTimeoutLeitura = Duration.ofSeconds(5);
+}
@@ -0,0 +1,35 @@
+package com.nexdom.nexdomestoquechallenger.controller;
+
+import com.nexdom.nexdomestoquechallenger.dto.response.StockAlertResponse;
+import com.nexdom.nexdomestoquechallenger.repository.StockAlertRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/alertas")
+public class AlertController {
+
+    private final StockAlertRepository stockAlertRepository;
+
+    public AlertController(StockAlertRepository stockAlertRepository) {
+        this.stockAlertRepository = stockAlertRepository;
+    }
+
+    @GetMapping
+    public ResponseEntity<Page<StockAlertResponse>> getAlerts(
+            @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC, size = 20) Pageable pageable) {
+        return ResponseEntity.ok(stockAlertRepository.findAll(pageable).map(StockAlertResponse::of));
+    }
+
+    @PostMapping("/webhook")
+    public ResponseEntity<Void> receiveWebhook(@RequestBody StockAlertResponse alert) {
+        log.info("Webhook de alerta recebido: [{}] {}", alert.getSeveridade(), alert.getMensagem());
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -2,9 +2,13 @@ package com.nexdom.nexdomestoquechallenger.controller;
 
 import com.nexdom.nexdomestoquechallenger.dto.request.CategoriaCreateRequest;
 import com.nexdom.nexdomestoquechallenger.dto.response.CategoryCreateResponse;
+import com.nexdom.nexdomestoquechallenger.service.CatalogVersionService;
 import com.nexdom.nexdomestoquechallenger.service.CategoryService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -15,9 +19,11 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CatalogVersionService catalogVersions;
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, CatalogVersionService catalogVersions) {
         this.categoryService = categoryService;
+        this.catalogVersions = catalogVersions;
     }
 
     @PostMapping("/")
@@ -38,8 +44,14 @@ public class CategoryController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoryCreateResponse>> listarTodas() {
-        return ResponseEntity.ok(categoryService.listarTodas());
+    public ResponseEntity<List<CategoryCreateResponse>> listarTodas(WebRequest request) {
+        String etag = catalogVersions.etag("categorias", CatalogVersionService.CATEGORIES);
+        if (request.checkNotModified(etag, catalogVersions.lastModified(CatalogVersionService.CATEGORIES))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(categoryService.listarTodas());
     }
 
     @PutMapping("/{id}")
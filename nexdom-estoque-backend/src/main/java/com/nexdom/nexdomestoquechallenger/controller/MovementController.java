@@ -1,14 +1,27 @@
 package com.nexdom.nexdomestoquechallenger.controller;
 
 import com.nexdom.nexdomestoquechallenger.dto.request.MovementCreateRequest;
+import com.nexdom.nexdomestoquechallenger.dto.response.MovementBatchItemResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.MovementFeedResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.MovementPageResponse;
 import com.nexdom.nexdomestoquechallenger.dto.response.MovementResponse;
+import com.nexdom.nexdomestoquechallenger.enums.ExportFormat;
+import com.nexdom.nexdomestoquechallenger.service.ExportService;
+import com.nexdom.nexdomestoquechallenger.service.MovementBatchService;
+import com.nexdom.nexdomestoquechallenger.service.MovementFeedService;
 import com.nexdom.nexdomestoquechallenger.service.MovementService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -17,10 +30,15 @@ import java.util.List;
 public class MovementController {
 
     private final MovementService movementService;
+    private final MovementBatchService movementBatchService;
+    private final ExportService exportService;
+    private final MovementFeedService movementFeedService;
 
     @PostMapping()
-    public ResponseEntity<MovementResponse> createMovement(@RequestBody MovementCreateRequest request) {
-        MovementResponse response = movementService.createMovement(request);
+    public ResponseEntity<MovementResponse> createMovement(
+            @RequestBody MovementCreateRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        MovementResponse response = movementService.createMovement(request, idempotencyKey);
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
                 .buildAndExpand(response.getId())
@@ -28,13 +46,48 @@ public class MovementController {
         return ResponseEntity.created(location).body(response);
     }
 
+    @PostMapping("/lote")
+    public ResponseEntity<List<MovementBatchItemResponse>> createMovements(
+            @RequestBody List<MovementCreateRequest> requests) {
+        return ResponseEntity.ok(movementBatchService.createMovements(requests));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMovements(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat formato) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=movimentacoes." + formato.getExtension())
+                .contentType(MediaType.parseMediaType(formato.getContentType()))
+                .body(out -> exportService.exportMovements(de, ate, categoria, formato, out));
+    }
+
+    @GetMapping("/changes")
+    public DeferredResult<ResponseEntity<MovementFeedResponse>> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) Integer espera) {
+        return movementFeedService.getChanges(since, limite, espera);
+    }
+
     @GetMapping("/produto/{productId}")
-    public ResponseEntity<List<MovementResponse>> getMovementsByProduct(@PathVariable Long productId) {
-        return ResponseEntity.ok(movementService.getMovementsByProduct(productId));
+    public ResponseEntity<MovementPageResponse> getMovementsByProduct(
+            @PathVariable Long productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(movementService.getMovementsByProduct(productId, de, ate, cursor, limite));
     }
 
     @GetMapping
-    public ResponseEntity<List<MovementResponse>> getAllMovements() {
-        return ResponseEntity.ok(movementService.getAllMovements());
+    public ResponseEntity<MovementPageResponse> getAllMovements(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(movementService.getAllMovements(de, ate, cursor, limite));
     }
 }
\ No newline at end of file
@@ -1,33 +1,65 @@
 package com.nexdom.nexdomestoquechallenger.controller;
 
 import com.nexdom.nexdomestoquechallenger.dto.request.ProductCreateRequest;
+import com.nexdom.nexdomestoquechallenger.dto.request.ProductSearchRequest;
 import com.nexdom.nexdomestoquechallenger.dto.response.ProductCreateResponse;
 import com.nexdom.nexdomestoquechallenger.dto.response.ProductProfitResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.ProductSearchResponse;
 import com.nexdom.nexdomestoquechallenger.dto.response.ProductStockResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.StockAsOfResponse;
+import com.nexdom.nexdomestoquechallenger.enums.ExportFormat;
+import com.nexdom.nexdomestoquechallenger.service.CatalogVersionService;
+import com.nexdom.nexdomestoquechallenger.service.ExportService;
+import com.nexdom.nexdomestoquechallenger.service.IdempotencyService;
 import com.nexdom.nexdomestoquechallenger.service.ProductService;
+import com.nexdom.nexdomestoquechallenger.service.StockSnapshotService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/produtos")
 public class ProductController {
 
     private final ProductService productService;
+    private final IdempotencyService idempotencyService;
+    private final ExportService exportService;
+    private final CatalogVersionService catalogVersions;
+    private final StockSnapshotService stockSnapshotService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, IdempotencyService idempotencyService,
+                             ExportService exportService, CatalogVersionService catalogVersions,
+                             StockSnapshotService stockSnapshotService) {
         this.productService = productService;
+        this.idempotencyService = idempotencyService;
+        this.exportService = exportService;
+        this.catalogVersions = catalogVersions;
+        this.stockSnapshotService = stockSnapshotService;
     }
 
     @PostMapping
-    public ResponseEntity<ProductCreateResponse> createProduct(@RequestBody ProductCreateRequest request) {
-        ProductCreateResponse response = productService.createProduct(request);
+    public ResponseEntity<ProductCreateResponse> createProduct(
+            @RequestBody ProductCreateRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        ProductCreateResponse response = idempotencyService.execute("produto", idempotencyKey, request,
+                ProductCreateResponse.class, () -> productService.createProduct(request));
         return ResponseEntity.created(
                 ServletUriComponentsBuilder.fromCurrentRequest()
                         .path("/{id}")
@@ -36,15 +68,63 @@ public class ProductController {
         ).body(response);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(required = false) String categoria,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat formato) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=produtos." + formato.getExtension())
+                .contentType(MediaType.parseMediaType(formato.getContentType()))
+                .body(out -> exportService.exportProducts(categoria, formato, out));
+    }
+
+    @GetMapping("/busca")
+    public ResponseEntity<ProductSearchResponse> searchProducts(
+            @ModelAttribute ProductSearchRequest filter,
+            @PageableDefault(sort = "updatedAt", direction = Sort.Direction.DESC, page = 0, size = 20) Pageable pageable) {
+        return ResponseEntity.ok(productService.searchProducts(filter, pageable));
+    }
+
+    @GetMapping("/estoque-baixo")
+    public ResponseEntity<Page<ProductCreateResponse>> getLowStockProducts(
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) Long fornecedorId,
+            @PageableDefault(sort = "id", page = 0, size = 20) Pageable pageable) {
+        return ResponseEntity.ok(productService.getLowStockProducts(categoriaId, fornecedorId, pageable));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ProductCreateResponse> getProductById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.findProductResponseById(id));
+    public ResponseEntity<ProductCreateResponse> getProductById(@PathVariable Long id, WebRequest request) {
+        Optional<LocalDateTime> updatedAt = productService.findUpdatedAt(id);
+        if (updatedAt.isPresent()) {
+            String etag = catalogVersions.etag("produto-" + id + "-" + updatedAt.get(),
+                    CatalogVersionService.CATEGORIES, CatalogVersionService.SUPPLIERS);
+            long lastModified = Math.max(
+                    updatedAt.get().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                    catalogVersions.lastModified(CatalogVersionService.CATEGORIES, CatalogVersionService.SUPPLIERS));
+            if (request.checkNotModified(etag, lastModified)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(productService.findProductResponseById(id));
     }
 
     @GetMapping
     public ResponseEntity<Page<ProductCreateResponse>> getAllProducts(
-            @PageableDefault(sort = "updatedAt", direction = Sort.Direction.DESC, page = 0, size = 10) Pageable pageable) {
-        return ResponseEntity.ok(productService.getAllProducts(pageable));
+            @PageableDefault(sort = "updatedAt", direction = Sort.Direction.DESC, page = 0, size = 10) Pageable pageable,
+            WebRequest request) {
+        String[] tables = {
+                CatalogVersionService.PRODUCTS, CatalogVersionService.CATEGORIES, CatalogVersionService.SUPPLIERS
+        };
+        if (request.checkNotModified(catalogVersions.etag(pageResource(pageable), tables),
+                catalogVersions.lastModified(tables))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(productService.getAllProducts(pageable));
     }
 
     @GetMapping("/categoria/{categoryName}")
@@ -58,6 +138,20 @@ public class ProductController {
         return ResponseEntity.ok(productService.getProductsWithMovementsByCategory(categoryName));
     }
 
+    @GetMapping("/categoria/{categoryName}/estoque/historico")
+    public ResponseEntity<List<StockAsOfResponse>> getCategoryStockAt(
+            @PathVariable String categoryName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime em) {
+        return ResponseEntity.ok(stockSnapshotService.getCategoryStockAt(categoryName, em));
+    }
+
+    @GetMapping("/{id}/estoque")
+    public ResponseEntity<StockAsOfResponse> getProductStockAt(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime em) {
+        return ResponseEntity.ok(stockSnapshotService.getProductStockAt(id, em));
+    }
+
     @GetMapping("/categoria/{categoryName}/lucro")
     public ResponseEntity<List<ProductProfitResponse>> getProductsProfitByCategory(
             @PathVariable String categoryName) {
@@ -77,4 +171,12 @@ public class ProductController {
         productService.disableProduct(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    private String pageResource(Pageable pageable) {
+        String sort = pageable.getSort().stream()
+                .map(order -> order.getProperty() + "." + order.getDirection().name().toLowerCase()
+                        + (order.isIgnoreCase() ? ".ci" : "") + "." + order.getNullHandling().name().toLowerCase())
+                .collect(Collectors.joining(","));
+        return "produtos-p" + pageable.getPageNumber() + "-s" + pageable.getPageSize() + "-" + sort;
+    }
+}
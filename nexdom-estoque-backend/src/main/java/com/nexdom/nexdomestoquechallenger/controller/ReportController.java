@@ -0,0 +1,153 @@
+package com.nexdom.nexdomestoquechallenger.controller;
+
+import com.nexdom.nexdomestoquechallenger.analytics.MovementAnalyticsEngine;
+import com.nexdom.nexdomestoquechallenger.dto.request.AnalyticsQueryRequest;
+import com.nexdom.nexdomestoquechallenger.dto.response.AnalyticsComparisonResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.AnalyticsResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.CacheStatsResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.PeriodReportResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.ReconciliationStatusResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.ReorderReportResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.StockDiscrepancyResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.ValuationReportResponse;
+import com.nexdom.nexdomestoquechallenger.enums.ReportPeriod;
+import com.nexdom.nexdomestoquechallenger.service.DailyRollupService;
+import com.nexdom.nexdomestoquechallenger.service.ProductMovementSummaryService;
+import com.nexdom.nexdomestoquechallenger.service.ProductValuationService;
+import com.nexdom.nexdomestoquechallenger.service.ReorderForecastService;
+import com.nexdom.nexdomestoquechallenger.service.StockReconciliationService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/relatorios")
+public class ReportController {
+
+    private final ProductMovementSummaryService summaryService;
+    private final DailyRollupService rollupService;
+    private final MovementAnalyticsEngine analyticsEngine;
+    private final ProductValuationService valuationService;
+    private final ReorderForecastService reorderForecastService;
+    private final StockReconciliationService reconciliationService;
+    private final CacheManager cacheManager;
+
+    public ReportController(ProductMovementSummaryService summaryService, DailyRollupService rollupService,
+                            MovementAnalyticsEngine analyticsEngine, ProductValuationService valuationService,
+                            ReorderForecastService reorderForecastService,
+                            StockReconciliationService reconciliationService, CacheManager cacheManager) {
+        this.summaryService = summaryService;
+        this.rollupService = rollupService;
+        this.analyticsEngine = analyticsEngine;
+        this.valuationService = valuationService;
+        this.reorderForecastService = reorderForecastService;
+        this.reconciliationService = reconciliationService;
+        this.cacheManager = cacheManager;
+    }
+
+    @PostMapping("/reconciliacao")
+    public ResponseEntity<ReconciliationStatusResponse> startReconciliation(
+            @RequestParam(defaultValue = "false") boolean corrigir) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reconciliationService.start(corrigir));
+    }
+
+    @GetMapping("/reconciliacao")
+    public ResponseEntity<ReconciliationStatusResponse> getReconciliationStatus() {
+        return ResponseEntity.ok(reconciliationService.getStatus());
+    }
+
+    @GetMapping("/reconciliacao/divergencias")
+    public ResponseEntity<List<StockDiscrepancyResponse>> getDiscrepancies(
+            @RequestParam(required = false) String execucao,
+            @RequestParam(required = false) Long apos,
+            @RequestParam(defaultValue = "100") int limite) {
+        if (limite < 1 || limite > 1000) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e 1000");
+        }
+        return ResponseEntity.ok(reconciliationService.getDiscrepancies(execucao, apos, limite));
+    }
+
+    @GetMapping("/reposicao")
+    public ResponseEntity<ReorderReportResponse> getReorderSuggestions(
+            @RequestParam(required = false) Double diasMaximos) {
+        ReorderReportResponse report = reorderForecastService.getReport(diasMaximos);
+        return report.getGeradoEm() == null ? ResponseEntity.accepted().body(report) : ResponseEntity.ok(report);
+    }
+
+    @PostMapping("/reposicao/recalcular")
+    public ResponseEntity<ReorderReportResponse> recalculateReorderSuggestions() {
+        if (!reorderForecastService.calculate()) {
+            return ResponseEntity.accepted().body(reorderForecastService.getReport(null));
+        }
+        return ResponseEntity.ok(reorderForecastService.getReport(null));
+    }
+
+    @GetMapping("/valoracao/categorias")
+    public ResponseEntity<List<ValuationReportResponse>> getCategoryValuation() {
+        return ResponseEntity.ok(valuationService.getCategoryReport());
+    }
+
+    @GetMapping("/valoracao/fornecedores")
+    public ResponseEntity<List<ValuationReportResponse>> getSupplierValuation() {
+        return ResponseEntity.ok(valuationService.getSupplierReport());
+    }
+
+    @GetMapping("/analytics")
+    public ResponseEntity<AnalyticsResponse> getAnalytics(@ModelAttribute AnalyticsQueryRequest request) {
+        return ResponseEntity.ok(analyticsEngine.query(request));
+    }
+
+    @GetMapping("/analytics/comparacao")
+    public ResponseEntity<AnalyticsComparisonResponse> compareAnalytics(@ModelAttribute AnalyticsQueryRequest request) {
+        return ResponseEntity.ok(analyticsEngine.compare(request));
+    }
+
+    @GetMapping("/vendas")
+    public ResponseEntity<List<PeriodReportResponse>> getSalesReport(
+            @RequestParam(defaultValue = "DIA") ReportPeriod periodo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) Long fornecedorId) {
+        return ResponseEntity.ok(rollupService.getReport(periodo, de, ate, categoriaId, fornecedorId));
+    }
+
+    @GetMapping("/produtos/{productId}/vendas")
+    public ResponseEntity<List<PeriodReportResponse>> getProductSalesReport(
+            @PathVariable Long productId,
+            @RequestParam(defaultValue = "DIA") ReportPeriod periodo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate) {
+        return ResponseEntity.ok(rollupService.getProductReport(productId, periodo, de, ate));
+    }
+
+    @GetMapping("/cache")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        List<CacheStatsResponse> stats = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                stats.add(CacheStatsResponse.of(name, nativeCache.estimatedSize(), nativeCache.stats()));
+            }
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    @PostMapping("/resumos/recalcular")
+    public ResponseEntity<Map<String, Integer>> rebuildSummaries() {
+        return ResponseEntity.ok(Map.of("produtosAtualizados", summaryService.rebuild()));
+    }
+
+    @PostMapping("/consolidado/recalcular")
+    public ResponseEntity<Map<String, Integer>> rebuildRollups() {
+        return ResponseEntity.ok(Map.of("linhasConsolidadas", rollupService.rebuild()));
+    }
+}
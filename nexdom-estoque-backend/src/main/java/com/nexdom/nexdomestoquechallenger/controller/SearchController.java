@@ -0,0 +1,31 @@
+package com.nexdom.nexdomestoquechallenger.controller;
+
+import com.nexdom.nexdomestoquechallenger.dto.response.SearchResultResponse;
+import com.nexdom.nexdomestoquechallenger.search.CatalogSearchIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/busca")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final CatalogSearchIndex searchIndex;
+
+    public SearchController(CatalogSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SearchResultResponse>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limite) {
+        if (limite < 1) {
+            throw new IllegalArgumentException("O limite deve ser maior que zero");
+        }
+        return ResponseEntity.ok(searchIndex.search(q, Math.min(limite, MAX_LIMIT)));
+    }
+}
@@ -2,6 +2,7 @@ package com.nexdom.nexdomestoquechallenger.controller;
 
 import com.nexdom.nexdomestoquechallenger.dto.request.FornecedorCreateRequest;
 import com.nexdom.nexdomestoquechallenger.dto.response.FornecedorCreateResponse;
+import com.nexdom.nexdomestoquechallenger.service.IdempotencyService;
 import com.nexdom.nexdomestoquechallenger.service.SupplierService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,14 +16,19 @@ import java.util.List;
 public class SupplierController {
 
     private final SupplierService supplierService;
+    private final IdempotencyService idempotencyService;
 
-    public SupplierController(SupplierService supplierService) {
+    public SupplierController(SupplierService supplierService, IdempotencyService idempotencyService) {
         this.supplierService = supplierService;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping("/")
-    public ResponseEntity<FornecedorCreateResponse> createSupplier(@RequestBody FornecedorCreateRequest fornecedorDTO) {
-        FornecedorCreateResponse fornecedorSalvo = supplierService.createSupplier(fornecedorDTO);
+    public ResponseEntity<FornecedorCreateResponse> createSupplier(
+            @RequestBody FornecedorCreateRequest fornecedorDTO,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        FornecedorCreateResponse fornecedorSalvo = idempotencyService.execute("fornecedor", idempotencyKey, fornecedorDTO,
+                FornecedorCreateResponse.class, () -> supplierService.createSupplier(fornecedorDTO));
 
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
@@ -0,0 +1,12 @@
+package com.nexdom.nexdomestoquechallenger.dto.projection;
+
+import java.time.LocalDateTime;
+
+public record CategoryRow(
+        Long id,
+        String name,
+        String description,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
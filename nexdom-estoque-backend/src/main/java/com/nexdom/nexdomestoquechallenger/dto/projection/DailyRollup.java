@@ -0,0 +1,20 @@
+package com.nexdom.nexdomestoquechallenger.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class DailyRollup {
+    private LocalDate day;
+    private Long productId;
+    private Long categoryId;
+    private Long supplierId;
+    private long entries;
+    private long exits;
+    private long soldQuantity;
+    private double revenue;
+    private double cost;
+}
@@ -0,0 +1,4 @@
+package com.nexdom.nexdomestoquechallenger.dto.projection;
+
+public record FacetCount(Long id, String name, long count) {
+}
@@ -0,0 +1,17 @@
+package com.nexdom.nexdomestoquechallenger.dto.projection;
+
+import java.time.LocalDateTime;
+
+public record FeedEntry(
+        long txId,
+        long seq,
+        Long movementId,
+        Long productId,
+        String type,
+        Integer quantity,
+        LocalDateTime dateTime,
+        String reason,
+        Double salePrice,
+        Integer resultingStock
+) {
+}
@@ -0,0 +1,20 @@
+package com.nexdom.nexdomestoquechallenger.dto.projection;
+
+import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+
+import java.time.LocalDateTime;
+
+public record MovementRow(
+        Long id,
+        Long productId,
+        String productName,
+        MovementType type,
+        Integer quantity,
+        LocalDateTime dateTime,
+        String responsibleUser,
+        String reason,
+        Double salePrice,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,13 @@
+package com.nexdom.nexdomestoquechallenger.dto.projection;
+
+import java.time.LocalDate;
+
+public record PeriodTotals(
+        LocalDate period,
+        long entries,
+        long exits,
+        long soldQuantity,
+        double revenue,
+        double cost
+) {
+}
@@ -0,0 +1,29 @@
+package com.nexdom.nexdomestoquechallenger.dto.projection;
+
+import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class PostedMovement {
+    private Long id;
+    private Long productId;
+    private String productName;
+    private MovementType type;
+    private Integer quantity;
+    private LocalDateTime dateTime;
+    private String responsibleUser;
+    private String reason;
+    private Double salePrice;
+    private Integer resultingStock;
+    private Integer minimumStock;
+    private String idempotencyKey;
+    private String requestFingerprint;
+
+    public int getStockDelta() {
+        return type == MovementType.ENTRADA ? quantity : -quantity;
+    }
+}
@@ -0,0 +1,4 @@
+package com.nexdom.nexdomestoquechallenger.dto.projection;
+
+public record ProductDimensions(Long categoryId, Long supplierId, Double supplierPrice) {
+}
@@ -0,0 +1,22 @@
+package com.nexdom.nexdomestoquechallenger.dto.projection;
+
+import java.time.LocalDateTime;
+
+public record ProductRow(
+        Long id,
+        String name,
+        String description,
+        String sku,
+        Double supplierPrice,
+        Double salePrice,
+        Integer stockQuantity,
+        Integer minimumStock,
+        String unitOfMeasure,
+        Long categoryId,
+        String categoryName,
+        Long supplierId,
+        String supplierName,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
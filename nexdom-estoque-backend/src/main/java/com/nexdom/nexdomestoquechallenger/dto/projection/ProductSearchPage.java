@@ -0,0 +1,11 @@
+package com.nexdom.nexdomestoquechallenger.dto.projection;
+
+import java.util.List;
+
+public record ProductSearchPage(
+        List<ProductRow> rows,
+        long total,
+        List<FacetCount> categories,
+        List<FacetCount> suppliers
+) {
+}
@@ -0,0 +1,14 @@
+package com.nexdom.nexdomestoquechallenger.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ProductStockState {
+    private Long id;
+    private String name;
+    private Double salePrice;
+    private Integer stockQuantity;
+    private Integer minimumStock;
+}
@@ -0,0 +1,6 @@
+package com.nexdom.nexdomestoquechallenger.dto.projection;
+
+import java.time.LocalDate;
+
+public record StockAsOf(Long productId, String name, String sku, Integer stockQuantity, LocalDate snapshotDay) {
+}
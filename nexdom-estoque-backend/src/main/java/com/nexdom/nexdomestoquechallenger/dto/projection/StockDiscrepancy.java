@@ -0,0 +1,18 @@
+package com.nexdom.nexdomestoquechallenger.dto.projection;
+
+import java.time.LocalDateTime;
+
+public record StockDiscrepancy(
+        Long id,
+        String runId,
+        Long productId,
+        Integer stockQuantity,
+        Integer ledgerQuantity,
+        boolean corrected,
+        LocalDateTime detectedAt
+) {
+
+    public int difference() {
+        return stockQuantity - ledgerQuantity;
+    }
+}
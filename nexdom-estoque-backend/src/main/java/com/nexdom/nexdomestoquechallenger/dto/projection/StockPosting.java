@@ -0,0 +1,13 @@
+package com.nexdom.nexdomestoquechallenger.dto.projection;
+
+public interface StockPosting {
+    Long getMovementId();
+
+    String getProductName();
+
+    Double getSalePrice();
+
+    Integer getStockQuantity();
+
+    Integer getMinimumStock();
+}
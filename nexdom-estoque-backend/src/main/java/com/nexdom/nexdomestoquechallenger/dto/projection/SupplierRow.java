@@ -0,0 +1,15 @@
+package com.nexdom.nexdomestoquechallenger.dto.projection;
+
+import java.time.LocalDateTime;
+
+public record SupplierRow(
+        Long id,
+        String name,
+        String cnpj,
+        String phone,
+        String email,
+        String address,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
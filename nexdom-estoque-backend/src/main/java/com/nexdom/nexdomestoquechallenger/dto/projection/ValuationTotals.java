@@ -0,0 +1,11 @@
+package com.nexdom.nexdomestoquechallenger.dto.projection;
+
+public record ValuationTotals(
+        Long id,
+        String name,
+        Long quantity,
+        Double stockValue,
+        Double costOfSales,
+        Double salesRevenue
+) {
+}
@@ -0,0 +1,21 @@
+package com.nexdom.nexdomestoquechallenger.dto.request;
+
+import com.nexdom.nexdomestoquechallenger.enums.AnalyticsGroup;
+import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+public class AnalyticsQueryRequest {
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate de;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate ate;
+    private MovementType tipo;
+    private String motivo;
+    private Long produtoId;
+    private Long categoriaId;
+    private AnalyticsGroup agrupar = AnalyticsGroup.PRODUTO;
+}
@@ -0,0 +1,14 @@
+package com.nexdom.nexdomestoquechallenger.dto.request;
+
+import lombok.Data;
+
+@Data
+public class ProductSearchRequest {
+    private Long categoriaId;
+    private Long fornecedorId;
+    private Boolean ativo;
+    private Double precoMin;
+    private Double precoMax;
+    private Boolean abaixoMinimo;
+    private String skuPrefixo;
+}
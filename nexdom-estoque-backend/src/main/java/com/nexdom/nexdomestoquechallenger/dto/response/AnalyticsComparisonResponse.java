@@ -0,0 +1,16 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class AnalyticsComparisonResponse {
+    private Long registros;
+    private Integer gruposMemoria;
+    private Integer gruposSql;
+    private Double tempoMemoriaMs;
+    private Double tempoSqlMs;
+    private Long bytesMemoria;
+    private Long bytesTabela;
+}
@@ -0,0 +1,15 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class AnalyticsResponse {
+    private List<AnalyticsRowResponse> linhas;
+    private Long registrosEmMemoria;
+    private Long bytesEmMemoria;
+    private Long tempoMs;
+}
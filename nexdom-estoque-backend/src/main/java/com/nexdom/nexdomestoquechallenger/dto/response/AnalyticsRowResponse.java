@@ -0,0 +1,30 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class AnalyticsRowResponse {
+    private String chave;
+    private Long movimentacoes;
+    private Long quantidadeEntrada;
+    private Long quantidadeSaida;
+    private Long quantidadeVendida;
+    private Double receita;
+    private Double custo;
+    private Double lucro;
+
+    public static AnalyticsRowResponse of(String chave, long[] totals) {
+        return AnalyticsRowResponse.builder()
+                .chave(chave)
+                .movimentacoes(totals[0])
+                .quantidadeEntrada(totals[1])
+                .quantidadeSaida(totals[2])
+                .quantidadeVendida(totals[3])
+                .receita(totals[4] / 100.0)
+                .custo(totals[5] / 100.0)
+                .lucro((totals[4] - totals[5]) / 100.0)
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CacheStatsResponse {
+    private String cache;
+    private Long tamanho;
+    private Long acertos;
+    private Long falhas;
+    private Double taxaAcerto;
+    private Long remocoes;
+
+    public static CacheStatsResponse of(String cache, long size, CacheStats stats) {
+        return CacheStatsResponse.builder()
+                .cache(cache)
+                .tamanho(size)
+                .acertos(stats.hitCount())
+                .falhas(stats.missCount())
+                .taxaAcerto(stats.hitRate())
+                .remocoes(stats.evictionCount())
+                .build();
+    }
+}
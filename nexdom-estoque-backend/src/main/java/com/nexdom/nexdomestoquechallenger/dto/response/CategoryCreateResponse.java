@@ -1,5 +1,6 @@
 package com.nexdom.nexdomestoquechallenger.dto.response;
 
+import com.nexdom.nexdomestoquechallenger.dto.projection.CategoryRow;
 import com.nexdom.nexdomestoquechallenger.entity.Category;
 import lombok.Builder;
 import lombok.Data;
@@ -24,4 +25,14 @@ public class CategoryCreateResponse {
                 .updatedAt(category.getUpdatedAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    public static CategoryCreateResponse of(CategoryRow category) {
+        return CategoryCreateResponse.builder()
+                .id(category.id())
+                .nome(category.name())
+                .descricao(category.description())
+                .createdAt(category.createdAt())
+                .updatedAt(category.updatedAt())
+                .build();
+    }
+}
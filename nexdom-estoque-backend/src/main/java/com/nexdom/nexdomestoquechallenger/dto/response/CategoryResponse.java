@@ -2,9 +2,11 @@ package com.nexdom.nexdomestoquechallenger.dto.response;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 @Data
 @Builder
+@Jacksonized
 public class CategoryResponse {
     private Long id;
     private String name;
@@ -0,0 +1,21 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.FacetCount;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class FacetCountResponse {
+    private Long id;
+    private String nome;
+    private Long quantidade;
+
+    public static FacetCountResponse of(FacetCount facet) {
+        return FacetCountResponse.builder()
+                .id(facet.id())
+                .nome(facet.name())
+                .quantidade(facet.count())
+                .build();
+    }
+}
@@ -1,13 +1,16 @@
 package com.nexdom.nexdomestoquechallenger.dto.response;
 
+import com.nexdom.nexdomestoquechallenger.dto.projection.SupplierRow;
 import com.nexdom.nexdomestoquechallenger.entity.Supplier;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.LocalDateTime;
 
 @Data
 @Builder
+@Jacksonized
 public class FornecedorCreateResponse {
     private Long id;
     private String nome;
@@ -30,4 +33,17 @@ public class FornecedorCreateResponse {
                 .updatedAt(supplier.getUpdatedAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    public static FornecedorCreateResponse of(SupplierRow supplier) {
+        return FornecedorCreateResponse.builder()
+                .id(supplier.id())
+                .nome(supplier.name())
+                .cnpj(supplier.cnpj())
+                .telefone(supplier.phone())
+                .email(supplier.email())
+                .endereco(supplier.address())
+                .createdAt(supplier.createdAt())
+                .updatedAt(supplier.updatedAt())
+                .build();
+    }
+}
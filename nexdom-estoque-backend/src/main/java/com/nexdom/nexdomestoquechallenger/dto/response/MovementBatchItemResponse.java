@@ -0,0 +1,29 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class MovementBatchItemResponse {
+    private Integer indice;
+    private Boolean sucesso;
+    private MovementResponse movimentacao;
+    private String erro;
+
+    public static MovementBatchItemResponse success(int indice, MovementResponse movimentacao) {
+        return MovementBatchItemResponse.builder()
+                .indice(indice)
+                .sucesso(true)
+                .movimentacao(movimentacao)
+                .build();
+    }
+
+    public static MovementBatchItemResponse failure(int indice, String erro) {
+        return MovementBatchItemResponse.builder()
+                .indice(indice)
+                .sucesso(false)
+                .erro(erro)
+                .build();
+    }
+}
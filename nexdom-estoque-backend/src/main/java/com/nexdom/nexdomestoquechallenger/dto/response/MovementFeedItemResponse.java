@@ -0,0 +1,33 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.FeedEntry;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class MovementFeedItemResponse {
+    private Long movimentacaoId;
+    private Long produtoId;
+    private String tipo;
+    private Integer quantidade;
+    private LocalDateTime dataHora;
+    private String motivo;
+    private Double precoVenda;
+    private Integer quantidadeEstoque;
+
+    public static MovementFeedItemResponse of(FeedEntry entry) {
+        return MovementFeedItemResponse.builder()
+                .movimentacaoId(entry.movementId())
+                .produtoId(entry.productId())
+                .tipo(entry.type())
+                .quantidade(entry.quantity())
+                .dataHora(entry.dateTime())
+                .motivo(entry.reason())
+                .precoVenda(entry.salePrice())
+                .quantidadeEstoque(entry.resultingStock())
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class MovementFeedResponse {
+    private List<MovementFeedItemResponse> itens;
+    private String cursor;
+    private Boolean temMais;
+}
@@ -0,0 +1,13 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class MovementPageResponse {
+    private List<MovementResponse> itens;
+    private String proximo;
+}
@@ -1,14 +1,18 @@
 package com.nexdom.nexdomestoquechallenger.dto.response;
 
+import com.nexdom.nexdomestoquechallenger.dto.projection.MovementRow;
+import com.nexdom.nexdomestoquechallenger.dto.projection.PostedMovement;
 import com.nexdom.nexdomestoquechallenger.entity.Movement;
 import com.nexdom.nexdomestoquechallenger.enums.MovementType;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.LocalDateTime;
 
 @Data
 @Builder
+@Jacksonized
 public class MovementResponse {
     private Long id;
     private Long productId;
@@ -37,4 +41,36 @@ public class MovementResponse {
                 .updatedAt(movement.getUpdatedAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    public static MovementResponse of(PostedMovement movement) {
+        return MovementResponse.builder()
+                .id(movement.getId())
+                .productId(movement.getProductId())
+                .productName(movement.getProductName())
+                .type(movement.getType())
+                .quantity(movement.getQuantity())
+                .dateTime(movement.getDateTime())
+                .responsibleUser(movement.getResponsibleUser())
+                .reason(movement.getReason())
+                .salePrice(movement.getSalePrice())
+                .createdAt(movement.getDateTime())
+                .updatedAt(movement.getDateTime())
+                .build();
+    }
+
+    public static MovementResponse of(MovementRow movement) {
+        return MovementResponse.builder()
+                .id(movement.id())
+                .productId(movement.productId())
+                .productName(movement.productName())
+                .type(movement.type())
+                .quantity(movement.quantity())
+                .dateTime(movement.dateTime())
+                .responsibleUser(movement.responsibleUser())
+                .reason(movement.reason())
+                .salePrice(movement.salePrice())
+                .createdAt(movement.createdAt())
+                .updatedAt(movement.updatedAt())
+                .build();
+    }
+}
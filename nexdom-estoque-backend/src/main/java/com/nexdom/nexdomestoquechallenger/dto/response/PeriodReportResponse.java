@@ -0,0 +1,31 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.PeriodTotals;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class PeriodReportResponse {
+    private LocalDate periodo;
+    private Long entradas;
+    private Long saidas;
+    private Long quantidadeVendida;
+    private Double receita;
+    private Double custo;
+    private Double lucro;
+
+    public static PeriodReportResponse of(PeriodTotals totals) {
+        return PeriodReportResponse.builder()
+                .periodo(totals.period())
+                .entradas(totals.entries())
+                .saidas(totals.exits())
+                .quantidadeVendida(totals.soldQuantity())
+                .receita(totals.revenue())
+                .custo(totals.cost())
+                .lucro(totals.revenue() - totals.cost())
+                .build();
+    }
+}
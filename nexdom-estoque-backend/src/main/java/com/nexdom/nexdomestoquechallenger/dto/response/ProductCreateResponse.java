@@ -1,13 +1,17 @@
 package com.nexdom.nexdomestoquechallenger.dto.response;
 
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductRow;
 import com.nexdom.nexdomestoquechallenger.entity.Product;
+import com.nexdom.nexdomestoquechallenger.entity.ProductValuation;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.LocalDateTime;
 
 @Data
 @Builder
+@Jacksonized
 public class ProductCreateResponse {
     private Long id;
     private String nome;
@@ -25,9 +29,7 @@ public class ProductCreateResponse {
     private Integer totalSaidas;
     private Double lucroTotal;
 
-    public static ProductCreateResponse of(Product product, Integer totalSaidas) {
-        Double lucroTotal = (product.getSalePrice() - product.getSupplierPrice()) * totalSaidas;
-
+    public static ProductCreateResponse of(Product product, Integer totalSaidas, ProductValuation valoracao) {
         return ProductCreateResponse.builder()
                 .id(product.getId())
                 .nome(product.getName())
@@ -51,11 +53,25 @@ public class ProductCreateResponse {
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
                 .totalSaidas(totalSaidas)
-                .lucroTotal(lucroTotal)
+                .lucroTotal(valoracao != null ? valoracao.getProfit() : 0.0)
                 .build();
     }
 
     public static ProductCreateResponse of(Product product) {
+        return of(product,
+                product.getCategory() != null ?
+                        CategoryResponse.builder()
+                                .id(product.getCategory().getId())
+                                .name(product.getCategory().getName())
+                                .build() : null,
+                product.getSupplier() != null ?
+                        SupplierResponse.builder()
+                                .id(product.getSupplier().getId())
+                                .name(product.getSupplier().getName())
+                                .build() : null);
+    }
+
+    public static ProductCreateResponse of(Product product, CategoryResponse categoria, SupplierResponse fornecedor) {
         return ProductCreateResponse.builder()
                 .id(product.getId())
                 .nome(product.getName())
@@ -66,18 +82,43 @@ public class ProductCreateResponse {
                 .quantidadeEstoque(product.getStockQuantity())
                 .estoqueMinimo(product.getMinimumStock())
                 .unidadeMedida(product.getUnitOfMeasure())
-                .categoria(product.getCategory() != null ?
+                .categoria(categoria)
+                .fornecedor(fornecedor)
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .build();
+    }
+
+    public static ProductCreateResponse of(ProductRow product, Integer totalSaidas, ProductValuation valoracao) {
+        ProductCreateResponse response = of(product);
+        response.setTotalSaidas(totalSaidas);
+        response.setLucroTotal(valoracao != null ? valoracao.getProfit() : 0.0);
+        return response;
+    }
+
+    public static ProductCreateResponse of(ProductRow product) {
+        return ProductCreateResponse.builder()
+                .id(product.id())
+                .nome(product.name())
+                .descricao(product.description())
+                .sku(product.sku())
+                .precoCusto(product.supplierPrice())
+                .precoVenda(product.salePrice())
+                .quantidadeEstoque(product.stockQuantity())
+                .estoqueMinimo(product.minimumStock())
+                .unidadeMedida(product.unitOfMeasure())
+                .categoria(product.categoryId() != null ?
                         CategoryResponse.builder()
-                                .id(product.getCategory().getId())
-                                .name(product.getCategory().getName())
+                                .id(product.categoryId())
+                                .name(product.categoryName())
                                 .build() : null)
-                .fornecedor(product.getSupplier() != null ?
+                .fornecedor(product.supplierId() != null ?
                         SupplierResponse.builder()
-                                .id(product.getSupplier().getId())
-                                .name(product.getSupplier().getName())
+                                .id(product.supplierId())
+                                .name(product.supplierName())
                                 .build() : null)
-                .createdAt(product.getCreatedAt())
-                .updatedAt(product.getUpdatedAt())
+                .createdAt(product.createdAt())
+                .updatedAt(product.updatedAt())
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,8 @@
 package com.nexdom.nexdomestoquechallenger.dto.response;
 
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductRow;
 import com.nexdom.nexdomestoquechallenger.entity.Product;
+import com.nexdom.nexdomestoquechallenger.entity.ProductValuation;
 import lombok.Builder;
 import lombok.Data;
 
@@ -13,12 +15,10 @@ public class ProductProfitResponse {
     private Integer totalSaidas;
     private Double valorFornecedor;
     private Double valorVenda;
+    private Double custoMedio;
     private Double lucroTotal;
 
-    public static ProductProfitResponse of(Product product, Integer vendas) {
-        double lucroUnitario = product.getSalePrice() - product.getSupplierPrice();
-        double lucroTotal = vendas * lucroUnitario;
-
+    public static ProductProfitResponse of(Product product, Integer vendas, ProductValuation valoracao) {
         return ProductProfitResponse.builder()
                 .productId(product.getId())
                 .productName(product.getName())
@@ -26,7 +26,21 @@ public class ProductProfitResponse {
                 .totalSaidas(vendas)
                 .valorFornecedor(product.getSupplierPrice())
                 .valorVenda(product.getSalePrice())
-                .lucroTotal(lucroTotal)
+                .custoMedio(valoracao != null ? valoracao.getAverageCost() : product.getSupplierPrice())
+                .lucroTotal(valoracao != null ? valoracao.getProfit() : 0.0)
+                .build();
+    }
+
+    public static ProductProfitResponse of(ProductRow product, Integer vendas, ProductValuation valoracao) {
+        return ProductProfitResponse.builder()
+                .productId(product.id())
+                .productName(product.name())
+                .sku(product.sku())
+                .totalSaidas(vendas)
+                .valorFornecedor(product.supplierPrice())
+                .valorVenda(product.salePrice())
+                .custoMedio(valoracao != null ? valoracao.getAverageCost() : product.supplierPrice())
+                .lucroTotal(valoracao != null ? valoracao.getProfit() : 0.0)
                 .build();
     }
-}
\ No newline at end of file
+}
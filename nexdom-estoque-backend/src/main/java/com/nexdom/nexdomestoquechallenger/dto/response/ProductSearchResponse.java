@@ -0,0 +1,31 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductSearchPage;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Data
+@Builder
+public class ProductSearchResponse {
+    private List<ProductCreateResponse> itens;
+    private Long total;
+    private Integer pagina;
+    private Integer tamanho;
+    private List<FacetCountResponse> categorias;
+    private List<FacetCountResponse> fornecedores;
+
+    public static ProductSearchResponse of(List<ProductCreateResponse> itens, ProductSearchPage page,
+                                           int pagina, int tamanho) {
+        return ProductSearchResponse.builder()
+                .itens(itens)
+                .total(page.total())
+                .pagina(pagina)
+                .tamanho(tamanho)
+                .categorias(page.categories().stream().map(FacetCountResponse::of).collect(Collectors.toList()))
+                .fornecedores(page.suppliers().stream().map(FacetCountResponse::of).collect(Collectors.toList()))
+                .build();
+    }
+}
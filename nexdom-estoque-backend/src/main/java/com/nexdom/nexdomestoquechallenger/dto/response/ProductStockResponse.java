@@ -1,5 +1,6 @@
 package com.nexdom.nexdomestoquechallenger.dto.response;
 
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductRow;
 import com.nexdom.nexdomestoquechallenger.entity.Product;
 import lombok.Builder;
 import lombok.Data;
@@ -27,4 +28,16 @@ public class ProductStockResponse {
                 .updatedAt(product.getUpdatedAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    public static ProductStockResponse of(ProductRow product, Integer totalSaidas) {
+        return ProductStockResponse.builder()
+                .id(product.id())
+                .nome(product.name())
+                .sku(product.sku())
+                .quantidadeEstoque(product.stockQuantity())
+                .totalSaidas(totalSaidas)
+                .categoria(product.categoryName())
+                .updatedAt(product.updatedAt())
+                .build();
+    }
+}
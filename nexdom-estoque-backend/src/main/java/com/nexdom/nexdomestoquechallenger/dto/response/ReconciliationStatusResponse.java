@@ -0,0 +1,23 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class ReconciliationStatusResponse {
+    private String execucao;
+    private String situacao;
+    private Boolean corrigir;
+    private LocalDateTime iniciadaEm;
+    private LocalDateTime finalizadaEm;
+    private Integer faixasTotal;
+    private Integer faixasConcluidas;
+    private Long produtosVerificados;
+    private Long divergencias;
+    private Long correcoes;
+    private Double produtosPorSegundo;
+    private String erro;
+}
@@ -0,0 +1,16 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class ReorderReportResponse {
+    private LocalDateTime geradoEm;
+    private Integer produtosAnalisados;
+    private Boolean emCalculo;
+    private List<ReorderSuggestionResponse> itens;
+}
@@ -0,0 +1,19 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ReorderSuggestionResponse {
+    private Long produtoId;
+    private String nome;
+    private Integer quantidadeEstoque;
+    private Integer estoqueMinimo;
+    private Double mediaMovel7;
+    private Double mediaMovel30;
+    private Double suavizacaoExponencial;
+    private Double diasAteRuptura;
+    private Integer quantidadeSugerida;
+    private Integer estoqueMinimoSugerido;
+}
@@ -0,0 +1,25 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import com.nexdom.nexdomestoquechallenger.search.TrigramIndex;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SearchResultResponse {
+    private String tipo;
+    private Long id;
+    private String titulo;
+    private String detalhe;
+    private Double pontuacao;
+
+    public static SearchResultResponse of(String tipo, TrigramIndex.Match match) {
+        return SearchResultResponse.builder()
+                .tipo(tipo)
+                .id(match.id())
+                .titulo(match.title())
+                .detalhe(match.detail())
+                .pontuacao(match.score())
+                .build();
+    }
+}
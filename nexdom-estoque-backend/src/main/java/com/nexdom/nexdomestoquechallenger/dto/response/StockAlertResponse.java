@@ -0,0 +1,34 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import com.nexdom.nexdomestoquechallenger.entity.StockAlert;
+import com.nexdom.nexdomestoquechallenger.enums.AlertSeverity;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@Jacksonized
+public class StockAlertResponse {
+    private Long produtoId;
+    private String produtoNome;
+    private AlertSeverity severidade;
+    private Integer quantidadeEstoque;
+    private Integer limite;
+    private String mensagem;
+    private LocalDateTime dataHora;
+
+    public static StockAlertResponse of(StockAlert alert) {
+        return StockAlertResponse.builder()
+                .produtoId(alert.getProductId())
+                .produtoNome(alert.getProductName())
+                .severidade(alert.getSeverity())
+                .quantidadeEstoque(alert.getStockQuantity())
+                .limite(alert.getThreshold())
+                .mensagem(alert.getMessage())
+                .dataHora(alert.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.StockAsOf;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class StockAsOfResponse {
+    private Long produtoId;
+    private String nome;
+    private String sku;
+    private LocalDateTime em;
+    private Integer quantidadeEstoque;
+    private LocalDate snapshotBase;
+
+    public static StockAsOfResponse of(StockAsOf stock, LocalDateTime em) {
+        return StockAsOfResponse.builder()
+                .produtoId(stock.productId())
+                .nome(stock.name())
+                .sku(stock.sku())
+                .em(em)
+                .quantidadeEstoque(stock.stockQuantity())
+                .snapshotBase(stock.snapshotDay())
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.StockDiscrepancy;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class StockDiscrepancyResponse {
+    private Long id;
+    private String execucao;
+    private Long produtoId;
+    private Integer quantidadeEstoque;
+    private Integer quantidadeMovimentacoes;
+    private Integer diferenca;
+    private Boolean corrigida;
+    private LocalDateTime detectadaEm;
+
+    public static StockDiscrepancyResponse of(StockDiscrepancy discrepancy) {
+        return StockDiscrepancyResponse.builder()
+                .id(discrepancy.id())
+                .execucao(discrepancy.runId())
+                .produtoId(discrepancy.productId())
+                .quantidadeEstoque(discrepancy.stockQuantity())
+                .quantidadeMovimentacoes(discrepancy.ledgerQuantity())
+                .diferenca(discrepancy.difference())
+                .corrigida(discrepancy.corrected())
+                .detectadaEm(discrepancy.detectedAt())
+                .build();
+    }
+}
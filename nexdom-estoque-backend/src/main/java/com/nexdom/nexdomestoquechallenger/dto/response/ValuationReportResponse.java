@@ -0,0 +1,29 @@
+package com.nexdom.nexdomestoquechallenger.dto.response;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.ValuationTotals;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ValuationReportResponse {
+    private Long id;
+    private String nome;
+    private Long quantidadeEstoque;
+    private Double valorEstoque;
+    private Double custoVendas;
+    private Double receitaVendas;
+    private Double lucro;
+
+    public static ValuationReportResponse of(ValuationTotals totals) {
+        return ValuationReportResponse.builder()
+                .id(totals.id())
+                .nome(totals.name())
+                .quantidadeEstoque(totals.quantity())
+                .valorEstoque(totals.stockValue())
+                .custoVendas(totals.costOfSales())
+                .receitaVendas(totals.salesRevenue())
+                .lucro(totals.salesRevenue() - totals.costOfSales())
+                .build();
+    }
+}
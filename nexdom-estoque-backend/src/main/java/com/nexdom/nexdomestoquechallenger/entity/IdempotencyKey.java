@@ -0,0 +1,39 @@
+package com.nexdom.nexdomestoquechallenger.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotencia",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotencia_escopo_chave", columnNames = {"escopo", "chave"}),
+        indexes = @Index(name = "idx_idempotencia_created_at", columnList = "created_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "escopo", nullable = false)
+    private String scope;
+
+    @Column(name = "chave", nullable = false)
+    private String key;
+
+    @Column(name = "resposta", columnDefinition = "text")
+    private String response;
+
+    @Column(name = "impressao", length = 64)
+    private String fingerprint;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
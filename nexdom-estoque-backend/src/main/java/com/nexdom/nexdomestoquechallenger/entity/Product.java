@@ -12,6 +12,10 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "produtos")
+@NamedEntityGraph(name = "Product.detalhe", attributeNodes = {
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("supplier")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,6 +41,9 @@ public class Product {
     @Column(name = "quantidade_estoque", nullable = false)
     private Integer stockQuantity;
 
+    @Column(name = "estoque_inicial")
+    private Integer initialStock;
+
     @Column(name = "estoque_minimo")
     private Integer minimumStock;
 
@@ -46,11 +53,11 @@ public class Product {
     @Column(name = "ativo", nullable = false)
     private Boolean active = true;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "categoria_id", nullable = false)
     private Category category;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "fornecedor_id")
     private Supplier supplier;
 
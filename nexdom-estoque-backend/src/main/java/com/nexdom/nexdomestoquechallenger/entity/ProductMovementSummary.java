@@ -0,0 +1,37 @@
+package com.nexdom.nexdomestoquechallenger.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "produto_movimentacao_resumo")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductMovementSummary {
+
+    @Id
+    @Column(name = "produto_id")
+    private Long productId;
+
+    @Column(name = "total_entradas", nullable = false)
+    private Long totalEntries = 0L;
+
+    @Column(name = "total_saidas", nullable = false)
+    private Long totalExits = 0L;
+
+    @Column(name = "total_vendas", nullable = false)
+    private Long totalSold = 0L;
+
+    @Column(name = "receita_vendas", nullable = false)
+    private Double salesRevenue = 0.0;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
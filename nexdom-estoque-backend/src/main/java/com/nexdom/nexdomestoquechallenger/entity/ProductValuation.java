@@ -0,0 +1,44 @@
+package com.nexdom.nexdomestoquechallenger.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "produto_valoracao")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductValuation {
+
+    @Id
+    @Column(name = "produto_id")
+    private Long productId;
+
+    @Column(name = "quantidade", nullable = false)
+    private Integer quantity = 0;
+
+    @Column(name = "custo_medio", nullable = false)
+    private Double averageCost = 0.0;
+
+    @Column(name = "valor_estoque", nullable = false)
+    private Double stockValue = 0.0;
+
+    @Column(name = "custo_vendas", nullable = false)
+    private Double costOfSales = 0.0;
+
+    @Column(name = "receita_vendas", nullable = false)
+    private Double salesRevenue = 0.0;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public double getProfit() {
+        return salesRevenue - costOfSales;
+    }
+}
@@ -0,0 +1,45 @@
+package com.nexdom.nexdomestoquechallenger.entity;
+
+import com.nexdom.nexdomestoquechallenger.enums.AlertSeverity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "alerta_estoque", indexes = @Index(name = "idx_alerta_estoque_created_at", columnList = "created_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "produto_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "produto_nome")
+    private String productName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "severidade", nullable = false)
+    private AlertSeverity severity;
+
+    @Column(name = "quantidade_estoque", nullable = false)
+    private Integer stockQuantity;
+
+    @Column(name = "limite", nullable = false)
+    private Integer threshold;
+
+    @Column(name = "mensagem")
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
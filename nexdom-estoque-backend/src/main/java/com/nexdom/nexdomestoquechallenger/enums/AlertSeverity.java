@@ -0,0 +1,6 @@
+package com.nexdom.nexdomestoquechallenger.enums;
+
+public enum AlertSeverity {
+    ALERTA,
+    CRITICO
+}
@@ -0,0 +1,20 @@
+package com.nexdom.nexdomestoquechallenger.enums;
+
+public enum AnalyticsGroup {
+    PRODUTO("m.produto_id"),
+    CATEGORIA("p.categoria_id"),
+    DIA("CAST(m.data_hora AS DATE)"),
+    MES("date_trunc('month', m.data_hora)"),
+    TIPO("m.tipo"),
+    MOTIVO("m.motivo");
+
+    private final String sqlExpression;
+
+    AnalyticsGroup(String sqlExpression) {
+        this.sqlExpression = sqlExpression;
+    }
+
+    public String getSqlExpression() {
+        return sqlExpression;
+    }
+}
@@ -0,0 +1,17 @@
+package com.nexdom.nexdomestoquechallenger.enums;
+
+public enum ReportPeriod {
+    DIA("day"),
+    SEMANA("week"),
+    MES("month");
+
+    private final String truncUnit;
+
+    ReportPeriod(String truncUnit) {
+        this.truncUnit = truncUnit;
+    }
+
+    public String getTruncUnit() {
+        return truncUnit;
+    }
+}
@@ -0,0 +1,13 @@
+package com.nexdom.nexdomestoquechallenger.event;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.PostedMovement;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class MovementsPostedEvent {
+    private final List<PostedMovement> movements;
+}
@@ -0,0 +1,10 @@
+package com.nexdom.nexdomestoquechallenger.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductUpdatedEvent {
+    private final Long productId;
+}
@@ -0,0 +1,7 @@
+package com.nexdom.nexdomestoquechallenger.exceptions;
+
+public class CursorExpiredException extends RuntimeException {
+    public CursorExpiredException(String message) {
+        super(message);
+    }
+}
@@ -1,9 +1,12 @@
 package com.nexdom.nexdomestoquechallenger.repository;
 
+import com.nexdom.nexdomestoquechallenger.dto.projection.CategoryRow;
 import com.nexdom.nexdomestoquechallenger.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +14,8 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     boolean existsByName(String name);
 
     Optional<Category> findByName(String name);
+
+    @Query("SELECT new com.nexdom.nexdomestoquechallenger.dto.projection.CategoryRow(" +
+            "c.id, c.name, c.description, c.createdAt, c.updatedAt) FROM Category c")
+    List<CategoryRow> findAllRows();
 }
\ No newline at end of file
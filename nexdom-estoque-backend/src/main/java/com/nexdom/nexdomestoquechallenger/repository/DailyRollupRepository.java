@@ -0,0 +1,217 @@
+package com.nexdom.nexdomestoquechallenger.repository;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.DailyRollup;
+import com.nexdom.nexdomestoquechallenger.dto.projection.PeriodTotals;
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductDimensions;
+import com.nexdom.nexdomestoquechallenger.enums.ReportPeriod;
+import jakarta.annotation.PostConstruct;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+public class DailyRollupRepository {
+
+    private static final List<String> DDL = List.of(
+            "CREATE TABLE IF NOT EXISTS relatorio_diario_produto (" +
+                    "dia DATE NOT NULL, produto_id BIGINT NOT NULL, categoria_id BIGINT NOT NULL, " +
+                    "fornecedor_id BIGINT NOT NULL DEFAULT 0, entradas BIGINT NOT NULL DEFAULT 0, " +
+                    "saidas BIGINT NOT NULL DEFAULT 0, quantidade_vendida BIGINT NOT NULL DEFAULT 0, " +
+                    "receita DOUBLE PRECISION NOT NULL DEFAULT 0, custo DOUBLE PRECISION NOT NULL DEFAULT 0, " +
+                    "PRIMARY KEY (dia, produto_id))",
+            "CREATE INDEX IF NOT EXISTS idx_relatorio_diario_produto_produto_dia " +
+                    "ON relatorio_diario_produto (produto_id, dia)",
+            "CREATE TABLE IF NOT EXISTS relatorio_diario_categoria (" +
+                    "dia DATE NOT NULL, categoria_id BIGINT NOT NULL, fornecedor_id BIGINT NOT NULL DEFAULT 0, " +
+                    "entradas BIGINT NOT NULL DEFAULT 0, saidas BIGINT NOT NULL DEFAULT 0, " +
+                    "quantidade_vendida BIGINT NOT NULL DEFAULT 0, receita DOUBLE PRECISION NOT NULL DEFAULT 0, " +
+                    "custo DOUBLE PRECISION NOT NULL DEFAULT 0, PRIMARY KEY (dia, categoria_id, fornecedor_id))",
+            "CREATE TABLE IF NOT EXISTS movimentacao_custo (" +
+                    "movimentacao_id BIGINT PRIMARY KEY, custo_unitario DOUBLE PRECISION NOT NULL)"
+    );
+
+    private static final String INCREMENT_PRODUCT =
+            "INSERT INTO relatorio_diario_produto AS r (dia, produto_id, categoria_id, fornecedor_id, entradas, " +
+                    "saidas, quantidade_vendida, receita, custo) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT (dia, produto_id) DO UPDATE SET " +
+                    "entradas = r.entradas + EXCLUDED.entradas, " +
+                    "saidas = r.saidas + EXCLUDED.saidas, " +
+                    "quantidade_vendida = r.quantidade_vendida + EXCLUDED.quantidade_vendida, " +
+                    "receita = r.receita + EXCLUDED.receita, " +
+                    "custo = r.custo + EXCLUDED.custo";
+
+    private static final String INCREMENT_CATEGORY =
+            "INSERT INTO relatorio_diario_categoria AS r (dia, categoria_id, fornecedor_id, entradas, saidas, " +
+                    "quantidade_vendida, receita, custo) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT (dia, categoria_id, fornecedor_id) DO UPDATE SET " +
+                    "entradas = r.entradas + EXCLUDED.entradas, " +
+                    "saidas = r.saidas + EXCLUDED.saidas, " +
+                    "quantidade_vendida = r.quantidade_vendida + EXCLUDED.quantidade_vendida, " +
+                    "receita = r.receita + EXCLUDED.receita, " +
+                    "custo = r.custo + EXCLUDED.custo";
+
+    private static final String RECORD_COST =
+            "INSERT INTO movimentacao_custo (movimentacao_id, custo_unitario) VALUES (?, ?) " +
+                    "ON CONFLICT (movimentacao_id) DO NOTHING";
+
+    private static final String REBUILD_PRODUCT =
+            "INSERT INTO relatorio_diario_produto (dia, produto_id, categoria_id, fornecedor_id, entradas, saidas, " +
+                    "quantidade_vendida, receita, custo) " +
+                    "SELECT CAST(m.data_hora AS DATE), m.produto_id, p.categoria_id, COALESCE(p.fornecedor_id, 0), " +
+                    "SUM(CASE WHEN m.tipo = 'ENTRADA' THEN m.quantidade ELSE 0 END), " +
+                    "SUM(CASE WHEN m.tipo = 'SAIDA' THEN m.quantidade ELSE 0 END), " +
+                    "SUM(CASE WHEN m.tipo = 'SAIDA' AND m.motivo = ? THEN m.quantidade ELSE 0 END), " +
+                    "SUM(CASE WHEN m.tipo = 'SAIDA' AND m.motivo = ? " +
+                    "THEN m.quantidade * COALESCE(m.sale_price, 0) ELSE 0 END), " +
+                    "SUM(CASE WHEN m.tipo = 'SAIDA' AND m.motivo = ? " +
+                    "THEN m.quantidade * COALESCE(c.custo_unitario, p.supplier_price) ELSE 0 END) " +
+                    "FROM movimentacao m JOIN produtos p ON p.id = m.produto_id " +
+                    "LEFT JOIN movimentacao_custo c ON c.movimentacao_id = m.id " +
+                    "WHERE m.data_hora >= ? AND m.data_hora < ? AND m.motivo IS DISTINCT FROM ? " +
+                    "GROUP BY CAST(m.data_hora AS DATE), m.produto_id, p.categoria_id, COALESCE(p.fornecedor_id, 0)";
+
+    private static final String REBUILD_CATEGORY =
+            "INSERT INTO relatorio_diario_categoria (dia, categoria_id, fornecedor_id, entradas, saidas, " +
+                    "quantidade_vendida, receita, custo) " +
+                    "SELECT dia, categoria_id, fornecedor_id, SUM(entradas), SUM(saidas), SUM(quantidade_vendida), " +
+                    "SUM(receita), SUM(custo) FROM relatorio_diario_produto WHERE dia >= ? AND dia < ? " +
+                    "GROUP BY dia, categoria_id, fornecedor_id";
+
+    private static final String TOTALS_COLUMNS =
+            "SUM(entradas) AS entradas, SUM(saidas) AS saidas, SUM(quantidade_vendida) AS quantidade_vendida, " +
+                    "SUM(receita) AS receita, SUM(custo) AS custo";
+
+    private static final RowMapper<PeriodTotals> TOTALS_MAPPER = (rs, rowNum) -> new PeriodTotals(
+            rs.getDate("periodo").toLocalDate(),
+            rs.getLong("entradas"),
+            rs.getLong("saidas"),
+            rs.getLong("quantidade_vendida"),
+            rs.getDouble("receita"),
+            rs.getDouble("custo"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DailyRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        DDL.forEach(jdbcTemplate::execute);
+    }
+
+    public Map<Long, ProductDimensions> findDimensions(Collection<Long> productIds) {
+        Map<Long, ProductDimensions> dimensions = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return dimensions;
+        }
+        jdbcTemplate.query(
+                "SELECT id, categoria_id, fornecedor_id, supplier_price FROM produtos WHERE id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", productIds.toArray())),
+                rs -> {
+                    dimensions.put(rs.getLong("id"), new ProductDimensions(
+                            rs.getLong("categoria_id"),
+                            rs.getLong("fornecedor_id"),
+                            rs.getDouble("supplier_price")));
+                });
+        return dimensions;
+    }
+
+    public void increment(Collection<DailyRollup> productRows, Collection<DailyRollup> categoryRows) {
+        List<DailyRollup> products = new ArrayList<>(productRows);
+        jdbcTemplate.batchUpdate(INCREMENT_PRODUCT, products, products.size(), (ps, row) -> {
+            ps.setObject(1, row.getDay());
+            ps.setLong(2, row.getProductId());
+            ps.setLong(3, row.getCategoryId());
+            ps.setLong(4, row.getSupplierId());
+            ps.setLong(5, row.getEntries());
+            ps.setLong(6, row.getExits());
+            ps.setLong(7, row.getSoldQuantity());
+            ps.setDouble(8, row.getRevenue());
+            ps.setDouble(9, row.getCost());
+        });
+        List<DailyRollup> categories = new ArrayList<>(categoryRows);
+        jdbcTemplate.batchUpdate(INCREMENT_CATEGORY, categories, categories.size(), (ps, row) -> {
+            ps.setObject(1, row.getDay());
+            ps.setLong(2, row.getCategoryId());
+            ps.setLong(3, row.getSupplierId());
+            ps.setLong(4, row.getEntries());
+            ps.setLong(5, row.getExits());
+            ps.setLong(6, row.getSoldQuantity());
+            ps.setDouble(7, row.getRevenue());
+            ps.setDouble(8, row.getCost());
+        });
+    }
+
+    public void recordCosts(Map<Long, Double> unitCosts) {
+        List<Map.Entry<Long, Double>> costs = new ArrayList<>(unitCosts.entrySet());
+        jdbcTemplate.batchUpdate(RECORD_COST, costs, costs.size(), (ps, cost) -> {
+            ps.setLong(1, cost.getKey());
+            ps.setDouble(2, cost.getValue());
+        });
+    }
+
+    public boolean isEmpty() {
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM relatorio_diario_produto)", Boolean.class));
+    }
+
+    public Optional<LocalDate> findFirstDay() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(
+                "SELECT LEAST((SELECT CAST(MIN(data_hora) AS DATE) FROM movimentacao), " +
+                        "(SELECT MIN(dia) FROM relatorio_diario_produto))", LocalDate.class));
+    }
+
+    public Optional<LocalDate> findLastDay() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(
+                "SELECT GREATEST((SELECT CAST(MAX(data_hora) AS DATE) FROM movimentacao), " +
+                        "(SELECT MAX(dia) FROM relatorio_diario_produto))", LocalDate.class));
+    }
+
+    public int rebuild(LocalDate from, LocalDate to, String saleReason, String excludedReason) {
+        jdbcTemplate.execute("LOCK TABLE relatorio_diario_produto, relatorio_diario_categoria IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM relatorio_diario_categoria WHERE dia >= ? AND dia < ?",
+                Date.valueOf(from), Date.valueOf(to));
+        jdbcTemplate.update("DELETE FROM relatorio_diario_produto WHERE dia >= ? AND dia < ?",
+                Date.valueOf(from), Date.valueOf(to));
+        int rows = jdbcTemplate.update(REBUILD_PRODUCT, saleReason, saleReason, saleReason,
+                from.atStartOfDay(), to.atStartOfDay(), excludedReason);
+        jdbcTemplate.update(REBUILD_CATEGORY, Date.valueOf(from), Date.valueOf(to));
+        return rows;
+    }
+
+    public List<PeriodTotals> findCategoryTotals(ReportPeriod period, LocalDate from, LocalDate to,
+                                                 Long categoryId, Long supplierId) {
+        List<Object> args = new ArrayList<>(List.of(period.getTruncUnit(), Date.valueOf(from), Date.valueOf(to)));
+        StringBuilder sql = new StringBuilder("SELECT CAST(date_trunc(?, dia) AS DATE) AS periodo, ")
+                .append(TOTALS_COLUMNS)
+                .append(" FROM relatorio_diario_categoria WHERE dia BETWEEN ? AND ?");
+        if (categoryId != null) {
+            sql.append(" AND categoria_id = ?");
+            args.add(categoryId);
+        }
+        if (supplierId != null) {
+            sql.append(" AND fornecedor_id = ?");
+            args.add(supplierId);
+        }
+        sql.append(" GROUP BY 1 ORDER BY 1");
+        return jdbcTemplate.query(sql.toString(), TOTALS_MAPPER, args.toArray());
+    }
+
+    public List<PeriodTotals> findProductTotals(ReportPeriod period, LocalDate from, LocalDate to, Long productId) {
+        return jdbcTemplate.query(
+                "SELECT CAST(date_trunc(?, dia) AS DATE) AS periodo, " + TOTALS_COLUMNS +
+                        " FROM relatorio_diario_produto WHERE produto_id = ? AND dia BETWEEN ? AND ? " +
+                        "GROUP BY 1 ORDER BY 1",
+                TOTALS_MAPPER, period.getTruncUnit(), productId, Date.valueOf(from), Date.valueOf(to));
+    }
+}
@@ -0,0 +1,33 @@
+package com.nexdom.nexdomestoquechallenger.repository;
+
+import com.nexdom.nexdomestoquechallenger.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+
+    Optional<IdempotencyKey> findByScopeAndKey(String scope, String key);
+
+    @Query("SELECT i.key FROM IdempotencyKey i WHERE i.scope = :scope AND i.key IN :keys")
+    List<String> findKeys(@Param("scope") String scope, @Param("keys") Collection<String> keys);
+
+    @Modifying
+    @Query(value = "INSERT INTO idempotencia (escopo, chave, resposta, impressao, created_at) " +
+            "VALUES (:scope, :key, :response, :fingerprint, :now) ON CONFLICT (escopo, chave) DO NOTHING",
+            nativeQuery = true)
+    int record(@Param("scope") String scope, @Param("key") String key, @Param("response") String response,
+               @Param("fingerprint") String fingerprint, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey i WHERE i.createdAt < :limit")
+    int deleteExpired(@Param("limit") LocalDateTime limit);
+}
@@ -0,0 +1,59 @@
+package com.nexdom.nexdomestoquechallenger.repository;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.PostedMovement;
+import jakarta.annotation.PostConstruct;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class JournalQuarantineRepository {
+
+    private static final List<String> DDL = List.of(
+            "CREATE TABLE IF NOT EXISTS movimentacao_quarentena (" +
+                    "id BIGINT PRIMARY KEY, produto_id BIGINT NOT NULL, tipo VARCHAR(20) NOT NULL, " +
+                    "quantidade INTEGER NOT NULL, data_hora TIMESTAMP NOT NULL, usuario_responsavel VARCHAR(255), " +
+                    "motivo VARCHAR(255), sale_price DOUBLE PRECISION, idempotency_key VARCHAR(255), " +
+                    "motivo_rejeicao VARCHAR(500) NOT NULL, registrada_em TIMESTAMP NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS idx_movimentacao_quarentena_produto ON movimentacao_quarentena (produto_id, id)"
+    );
+
+    private static final String INSERT =
+            "INSERT INTO movimentacao_quarentena (id, produto_id, tipo, quantidade, data_hora, usuario_responsavel, " +
+                    "motivo, sale_price, idempotency_key, motivo_rejeicao, registrada_em) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JournalQuarantineRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        DDL.forEach(jdbcTemplate::execute);
+    }
+
+    public void insert(List<PostedMovement> movements, String reason, LocalDateTime now) {
+        jdbcTemplate.batchUpdate(INSERT, movements, movements.size(), (ps, movement) -> {
+            ps.setLong(1, movement.getId());
+            ps.setLong(2, movement.getProductId());
+            ps.setString(3, movement.getType().name());
+            ps.setInt(4, movement.getQuantity());
+            ps.setObject(5, movement.getDateTime());
+            ps.setString(6, movement.getResponsibleUser());
+            ps.setString(7, movement.getReason());
+            if (movement.getSalePrice() != null) {
+                ps.setDouble(8, movement.getSalePrice());
+            } else {
+                ps.setNull(8, Types.DOUBLE);
+            }
+            ps.setString(9, movement.getIdempotencyKey());
+            ps.setString(10, reason);
+            ps.setObject(11, now);
+        });
+    }
+}
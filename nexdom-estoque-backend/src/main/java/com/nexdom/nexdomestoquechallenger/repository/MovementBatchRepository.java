@@ -0,0 +1,225 @@
+package com.nexdom.nexdomestoquechallenger.repository;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.PostedMovement;
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductStockState;
+import com.nexdom.nexdomestoquechallenger.entity.ProductMovementSummary;
+import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Repository
+public class MovementBatchRepository {
+
+    private static final String INSERT_MOVEMENT =
+            "INSERT INTO movimentacao (id, produto_id, tipo, quantidade, data_hora, usuario_responsavel, motivo, " +
+                    "sale_price, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String APPLY_STOCK_DELTA =
+            "UPDATE produtos SET quantidade_estoque = quantidade_estoque + ?, updated_at = ? " +
+                    "WHERE id = ? AND quantidade_estoque + ? >= 0";
+
+    private static final String INCREMENT_SUMMARY =
+            "INSERT INTO produto_movimentacao_resumo AS r " +
+                    "(produto_id, total_entradas, total_saidas, total_vendas, receita_vendas, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT (produto_id) DO UPDATE SET " +
+                    "total_entradas = r.total_entradas + EXCLUDED.total_entradas, " +
+                    "total_saidas = r.total_saidas + EXCLUDED.total_saidas, " +
+                    "total_vendas = r.total_vendas + EXCLUDED.total_vendas, " +
+                    "receita_vendas = r.receita_vendas + EXCLUDED.receita_vendas, " +
+                    "updated_at = EXCLUDED.updated_at";
+
+    private static final String REPLACE_SUMMARY =
+            "INSERT INTO produto_movimentacao_resumo " +
+                    "(produto_id, total_entradas, total_saidas, total_vendas, receita_vendas, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT (produto_id) DO UPDATE SET " +
+                    "total_entradas = EXCLUDED.total_entradas, " +
+                    "total_saidas = EXCLUDED.total_saidas, " +
+                    "total_vendas = EXCLUDED.total_vendas, " +
+                    "receita_vendas = EXCLUDED.receita_vendas, " +
+                    "updated_at = EXCLUDED.updated_at";
+
+    private static final String APPLY_VALUATION =
+            "INSERT INTO produto_valoracao AS v " +
+                    "(produto_id, quantidade, custo_medio, valor_estoque, custo_vendas, receita_vendas, updated_at) " +
+                    "SELECT p.id, ?, p.supplier_price, ? * p.supplier_price, ? * p.supplier_price, ?, ? " +
+                    "FROM produtos p WHERE p.id = ? " +
+                    "ON CONFLICT (produto_id) DO UPDATE SET " +
+                    "custo_medio = CASE WHEN EXCLUDED.quantidade > 0 " +
+                    "THEN (GREATEST(EXCLUDED.quantidade - ?, 0) * v.custo_medio + ? * EXCLUDED.custo_medio) " +
+                    "/ EXCLUDED.quantidade ELSE v.custo_medio END, " +
+                    "quantidade = EXCLUDED.quantidade, " +
+                    "valor_estoque = GREATEST(EXCLUDED.quantidade - ?, 0) * v.custo_medio + ? * EXCLUDED.custo_medio, " +
+                    "custo_vendas = v.custo_vendas + ? * v.custo_medio, " +
+                    "receita_vendas = v.receita_vendas + EXCLUDED.receita_vendas, " +
+                    "updated_at = EXCLUDED.updated_at";
+
+    private static final String ADJUST_VALUATION =
+            "INSERT INTO produto_valoracao AS v " +
+                    "(produto_id, quantidade, custo_medio, valor_estoque, custo_vendas, receita_vendas, updated_at) " +
+                    "VALUES (?, ?, ?, ?, 0, 0, ?) " +
+                    "ON CONFLICT (produto_id) DO UPDATE SET " +
+                    "quantidade = EXCLUDED.quantidade, " +
+                    "valor_estoque = EXCLUDED.quantidade * v.custo_medio, " +
+                    "updated_at = EXCLUDED.updated_at";
+
+    private static final String SEED_VALUATIONS =
+            "INSERT INTO produto_valoracao " +
+                    "(produto_id, quantidade, custo_medio, valor_estoque, custo_vendas, receita_vendas, updated_at) " +
+                    "SELECT p.id, p.quantidade_estoque, p.supplier_price, p.quantidade_estoque * p.supplier_price, " +
+                    "COALESCE(s.vendido, 0) * p.supplier_price, COALESCE(s.receita, 0), ? " +
+                    "FROM produtos p LEFT JOIN (" +
+                    "SELECT m.produto_id, SUM(m.quantidade) AS vendido, " +
+                    "SUM(m.quantidade * COALESCE(m.sale_price, 0)) AS receita FROM movimentacao m " +
+                    "WHERE m.tipo = 'SAIDA' AND m.motivo = ? " +
+                    "AND NOT EXISTS (SELECT 1 FROM produto_valoracao v WHERE v.produto_id = m.produto_id) " +
+                    "GROUP BY m.produto_id) s ON s.produto_id = p.id " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM produto_valoracao v WHERE v.produto_id = p.id) " +
+                    "ON CONFLICT (produto_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MovementBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Long> nextMovementIds(int count) {
+        if (count == 0) {
+            return new ArrayList<>();
+        }
+        return jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence('movimentacao', 'id')) FROM generate_series(1, ?)",
+                Long.class, count);
+    }
+
+    public Set<Long> findExistingMovementIds(Collection<Long> movementIds) {
+        Set<Long> existing = new HashSet<>();
+        if (movementIds.isEmpty()) {
+            return existing;
+        }
+        jdbcTemplate.query(
+                "SELECT id FROM movimentacao WHERE id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", movementIds.toArray())),
+                rs -> {
+                    existing.add(rs.getLong("id"));
+                });
+        return existing;
+    }
+
+    public Map<Long, ProductStockState> lockProducts(Collection<Long> productIds) {
+        return queryProducts(productIds, " ORDER BY id FOR UPDATE");
+    }
+
+    public Map<Long, ProductStockState> findProducts(Collection<Long> productIds) {
+        return queryProducts(productIds, "");
+    }
+
+    private Map<Long, ProductStockState> queryProducts(Collection<Long> productIds, String suffix) {
+        Map<Long, ProductStockState> products = new LinkedHashMap<>();
+        if (productIds.isEmpty()) {
+            return products;
+        }
+        jdbcTemplate.query(
+                "SELECT id, nome, preco_venda, quantidade_estoque, estoque_minimo FROM produtos " +
+                        "WHERE id = ANY(?)" + suffix,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", productIds.toArray())),
+                rs -> {
+                    long id = rs.getLong("id");
+                    products.put(id, new ProductStockState(
+                            id,
+                            rs.getString("nome"),
+                            rs.getDouble("preco_venda"),
+                            rs.getInt("quantidade_estoque"),
+                            (Integer) rs.getObject("estoque_minimo")));
+                });
+        return products;
+    }
+
+    public void insertMovements(List<PostedMovement> movements) {
+        jdbcTemplate.batchUpdate(INSERT_MOVEMENT, movements, movements.size(), (ps, movement) -> {
+            ps.setLong(1, movement.getId());
+            ps.setLong(2, movement.getProductId());
+            ps.setString(3, movement.getType().name());
+            ps.setInt(4, movement.getQuantity());
+            ps.setObject(5, movement.getDateTime());
+            ps.setString(6, movement.getResponsibleUser());
+            ps.setString(7, movement.getReason());
+            if (movement.getSalePrice() != null) {
+                ps.setDouble(8, movement.getSalePrice());
+            } else {
+                ps.setNull(8, Types.DOUBLE);
+            }
+            ps.setObject(9, movement.getDateTime());
+            ps.setObject(10, movement.getDateTime());
+        });
+    }
+
+    public int[] applyStockDeltas(Map<Long, Integer> deltas, LocalDateTime now) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(deltas.entrySet());
+        int[][] counts = jdbcTemplate.batchUpdate(APPLY_STOCK_DELTA, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setObject(2, now);
+            ps.setLong(3, entry.getKey());
+            ps.setInt(4, entry.getValue());
+        });
+        return counts.length == 0 ? new int[0] : counts[0];
+    }
+
+    public void incrementSummaries(Collection<ProductMovementSummary> increments) {
+        writeSummaries(INCREMENT_SUMMARY, increments);
+    }
+
+    public void replaceSummaries(Collection<ProductMovementSummary> summaries) {
+        writeSummaries(REPLACE_SUMMARY, summaries);
+    }
+
+    private void writeSummaries(String sql, Collection<ProductMovementSummary> summaries) {
+        List<ProductMovementSummary> rows = new ArrayList<>(summaries);
+        jdbcTemplate.batchUpdate(sql, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.getProductId());
+            ps.setLong(2, row.getTotalEntries());
+            ps.setLong(3, row.getTotalExits());
+            ps.setLong(4, row.getTotalSold());
+            ps.setDouble(5, row.getSalesRevenue());
+            ps.setObject(6, row.getUpdatedAt());
+        });
+    }
+
+    public void applyValuations(List<PostedMovement> movements, String saleReason, LocalDateTime now) {
+        jdbcTemplate.batchUpdate(APPLY_VALUATION, movements, movements.size(), (ps, movement) -> {
+            int entered = movement.getType() == MovementType.ENTRADA ? movement.getQuantity() : 0;
+            int sold = entered == 0 && saleReason.equals(movement.getReason()) ? movement.getQuantity() : 0;
+            double price = movement.getSalePrice() != null ? movement.getSalePrice() : 0.0;
+            ps.setInt(1, movement.getResultingStock());
+            ps.setInt(2, movement.getResultingStock());
+            ps.setInt(3, sold);
+            ps.setDouble(4, sold * price);
+            ps.setObject(5, now);
+            ps.setLong(6, movement.getProductId());
+            ps.setInt(7, entered);
+            ps.setInt(8, entered);
+            ps.setInt(9, entered);
+            ps.setInt(10, entered);
+            ps.setInt(11, sold);
+        });
+    }
+
+    public void adjustValuation(Long productId, int stockQuantity, double unitCost, LocalDateTime now) {
+        jdbcTemplate.update(ADJUST_VALUATION, productId, stockQuantity, unitCost, stockQuantity * unitCost, now);
+    }
+
+    public int seedValuations(String saleReason, LocalDateTime now) {
+        return jdbcTemplate.update(SEED_VALUATIONS, now, saleReason);
+    }
+}
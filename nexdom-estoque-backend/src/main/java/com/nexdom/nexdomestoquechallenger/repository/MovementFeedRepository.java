@@ -0,0 +1,114 @@
+package com.nexdom.nexdomestoquechallenger.repository;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.FeedEntry;
+import com.nexdom.nexdomestoquechallenger.dto.projection.PostedMovement;
+import jakarta.annotation.PostConstruct;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class MovementFeedRepository {
+
+    private static final List<String> DDL = List.of(
+            "CREATE TABLE IF NOT EXISTS movimentacao_feed (" +
+                    "tx_id XID8 NOT NULL, seq BIGSERIAL NOT NULL, movimentacao_id BIGINT NOT NULL, " +
+                    "produto_id BIGINT NOT NULL, tipo VARCHAR(20) NOT NULL, quantidade INTEGER NOT NULL, " +
+                    "data_hora TIMESTAMP NOT NULL, motivo VARCHAR(255), sale_price DOUBLE PRECISION, " +
+                    "estoque_resultante INTEGER, registrado_em TIMESTAMP NOT NULL DEFAULT now(), " +
+                    "PRIMARY KEY (tx_id, seq))",
+            "CREATE INDEX IF NOT EXISTS idx_movimentacao_feed_registrado_em ON movimentacao_feed (registrado_em)",
+            "CREATE TABLE IF NOT EXISTS movimentacao_feed_limite (" +
+                    "id SMALLINT PRIMARY KEY, tx_id XID8 NOT NULL, seq BIGINT NOT NULL)"
+    );
+
+    private static final String INSERT_ENTRY =
+            "INSERT INTO movimentacao_feed (tx_id, movimentacao_id, produto_id, tipo, quantidade, data_hora, " +
+                    "motivo, sale_price, estoque_resultante) VALUES (pg_current_xact_id(), ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String PURGE =
+            "WITH removidos AS (DELETE FROM movimentacao_feed WHERE registrado_em < ? RETURNING tx_id, seq), " +
+                    "ultimo AS (SELECT tx_id, seq FROM removidos ORDER BY tx_id DESC, seq DESC LIMIT 1), " +
+                    "limite AS (INSERT INTO movimentacao_feed_limite AS l (id, tx_id, seq) " +
+                    "SELECT 1, tx_id, seq FROM ultimo ON CONFLICT (id) DO UPDATE " +
+                    "SET tx_id = EXCLUDED.tx_id, seq = EXCLUDED.seq " +
+                    "WHERE (l.tx_id, l.seq) < (EXCLUDED.tx_id, EXCLUDED.seq)) " +
+                    "SELECT COUNT(*) FROM removidos";
+
+    private static final String VISIBLE = "tx_id < pg_snapshot_xmin(pg_current_snapshot())";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MovementFeedRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        DDL.forEach(jdbcTemplate::execute);
+    }
+
+    public void append(List<PostedMovement> movements) {
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, movements, movements.size(), (ps, movement) -> {
+            ps.setLong(1, movement.getId());
+            ps.setLong(2, movement.getProductId());
+            ps.setString(3, movement.getType().name());
+            ps.setInt(4, movement.getQuantity());
+            ps.setObject(5, movement.getDateTime());
+            ps.setString(6, movement.getReason());
+            if (movement.getSalePrice() != null) {
+                ps.setDouble(7, movement.getSalePrice());
+            } else {
+                ps.setNull(7, Types.DOUBLE);
+            }
+            if (movement.getResultingStock() != null) {
+                ps.setInt(8, movement.getResultingStock());
+            } else {
+                ps.setNull(8, Types.INTEGER);
+            }
+        });
+    }
+
+    public Optional<long[]> findVisibleHead() {
+        return jdbcTemplate.query(
+                "SELECT tx_id::text::bigint AS tx_id, seq FROM movimentacao_feed WHERE " + VISIBLE +
+                        " ORDER BY tx_id DESC, seq DESC LIMIT 1",
+                (rs, rowNum) -> new long[]{rs.getLong("tx_id"), rs.getLong("seq")}).stream().findFirst();
+    }
+
+    public List<FeedEntry> findAfter(long txId, long seq, int limit) {
+        return jdbcTemplate.query(
+                "SELECT tx_id::text::bigint AS tx_id, seq, movimentacao_id, produto_id, tipo, quantidade, data_hora, " +
+                        "motivo, sale_price, estoque_resultante FROM movimentacao_feed " +
+                        "WHERE (tx_id, seq) > (CAST(CAST(? AS TEXT) AS XID8), ?) AND " + VISIBLE +
+                        " ORDER BY tx_id, seq LIMIT ?",
+                (rs, rowNum) -> new FeedEntry(
+                        rs.getLong("tx_id"),
+                        rs.getLong("seq"),
+                        rs.getLong("movimentacao_id"),
+                        rs.getLong("produto_id"),
+                        rs.getString("tipo"),
+                        rs.getInt("quantidade"),
+                        rs.getTimestamp("data_hora").toLocalDateTime(),
+                        rs.getString("motivo"),
+                        (Double) rs.getObject("sale_price"),
+                        (Integer) rs.getObject("estoque_resultante")),
+                Long.toString(txId), seq, limit);
+    }
+
+    public Optional<long[]> findPurgedUpTo() {
+        return jdbcTemplate.query(
+                "SELECT tx_id::text::bigint AS tx_id, seq FROM movimentacao_feed_limite WHERE id = 1",
+                (rs, rowNum) -> new long[]{rs.getLong("tx_id"), rs.getLong("seq")}).stream().findFirst();
+    }
+
+    public int deleteRegisteredBefore(LocalDateTime limit) {
+        Integer removed = jdbcTemplate.queryForObject(PURGE, Integer.class, Timestamp.valueOf(limit));
+        return removed != null ? removed : 0;
+    }
+}
@@ -0,0 +1,213 @@
+package com.nexdom.nexdomestoquechallenger.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class MovementPartitionManager {
+
+    private static final String TARGET = "movimentacao_particionada";
+
+    private static final List<String> INDEXES = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_movimentacao_produto_tipo_motivo " +
+                    "ON movimentacao (produto_id, tipo, motivo) INCLUDE (quantidade)",
+            "DROP INDEX IF EXISTS idx_movimentacao_produto_data_hora",
+            "CREATE INDEX IF NOT EXISTS idx_movimentacao_data_hora_id ON movimentacao (data_hora, id)",
+            "CREATE INDEX IF NOT EXISTS idx_movimentacao_produto_data_hora_id " +
+                    "ON movimentacao (produto_id, data_hora, id)"
+    );
+
+    private static final String COPY_BATCH =
+            "WITH lote AS (SELECT * FROM movimentacao WHERE id > ? ORDER BY id LIMIT ?), " +
+                    "copiados AS (INSERT INTO " + TARGET + " SELECT * FROM lote ON CONFLICT DO NOTHING) " +
+                    "SELECT MAX(id) FROM lote";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final boolean migrate;
+    private final int migrationBatchSize;
+    private final ExecutorService migrationExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "estoque-particionamento");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MovementPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${estoque.particoes.meses-adiante:3}") int monthsAhead,
+            @Value("${estoque.particoes.migrar:false}") boolean migrate,
+            @Value("${estoque.particoes.migracao.tamanho-lote:50000}") int migrationBatchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+        this.migrate = migrate;
+        this.migrationBatchSize = migrationBatchSize;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS movimentacao_migracao (" +
+                "tabela VARCHAR(64) PRIMARY KEY, ultimo_id BIGINT NOT NULL, atualizado_em TIMESTAMP NOT NULL)");
+        INDEXES.forEach(jdbcTemplate::execute);
+        if (isPartitioned()) {
+            createUpcomingPartitions();
+        } else if (!migrate) {
+            log.warn("movimentacao não é particionada; habilite estoque.particoes.migrar para migrar em lotes");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMigration() {
+        if (migrate && !isPartitioned()) {
+            migrationExecutor.execute(this::migrate);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        migrationExecutor.shutdownNow();
+    }
+
+    @Scheduled(cron = "${estoque.particoes.cron:0 0 3 * * *}")
+    public void createUpcomingPartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            try {
+                createPartition("movimentacao", current.plusMonths(i));
+            } catch (DataAccessException e) {
+                log.warn("Não foi possível criar a partição de {}: {}", current.plusMonths(i), e.getMessage());
+            }
+        }
+    }
+
+    private boolean isPartitioned() {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass('movimentacao')", String.class);
+        return "p".equals(kind);
+    }
+
+    private void migrate() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> prepareTarget());
+            long lastId = jdbcTemplate.queryForObject(
+                    "SELECT ultimo_id FROM movimentacao_migracao WHERE tabela = ?", Long.class, TARGET);
+            log.info("Migrando movimentacao para tabela particionada em lotes de {}, a partir do id {}",
+                    migrationBatchSize, lastId);
+            while (!Thread.currentThread().isInterrupted()) {
+                long from = lastId;
+                Long copied = transactionTemplate.execute(status -> copyBatch(from));
+                if (copied == null) {
+                    break;
+                }
+                lastId = copied;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                log.info("Migração de movimentacao pausada no id {}, será retomada na próxima inicialização", lastId);
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> swap());
+            INDEXES.forEach(jdbcTemplate::execute);
+            createUpcomingPartitions();
+            log.info("movimentacao particionada; a tabela anterior foi mantida como movimentacao_legado");
+        } catch (RuntimeException e) {
+            log.error("Falha na migração de movimentacao, será retomada na próxima inicialização", e);
+        }
+    }
+
+    private void prepareTarget() {
+        String existing = jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class, TARGET);
+        if (existing != null) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE " + TARGET + " (LIKE movimentacao INCLUDING DEFAULTS INCLUDING CONSTRAINTS) " +
+                "PARTITION BY RANGE (data_hora)");
+        jdbcTemplate.execute("ALTER TABLE " + TARGET + " ALTER COLUMN id DROP DEFAULT");
+        jdbcTemplate.execute("ALTER TABLE " + TARGET + " ADD CONSTRAINT movimentacao_pkey_particionada " +
+                "PRIMARY KEY (id, data_hora)");
+        jdbcTemplate.execute("ALTER TABLE " + TARGET + " ADD CONSTRAINT fk_movimentacao_produto " +
+                "FOREIGN KEY (produto_id) REFERENCES produtos (id)");
+        jdbcTemplate.execute("CREATE TABLE movimentacao_padrao PARTITION OF " + TARGET + " DEFAULT");
+
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(data_hora) FROM movimentacao", Timestamp.class);
+        YearMonth month = oldest != null ? YearMonth.from(oldest.toLocalDateTime()) : YearMonth.now();
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            createPartition(TARGET, month);
+        }
+        jdbcTemplate.update("INSERT INTO movimentacao_migracao (tabela, ultimo_id, atualizado_em) VALUES (?, 0, now()) " +
+                "ON CONFLICT (tabela) DO NOTHING", TARGET);
+    }
+
+    private Long copyBatch(long afterId) {
+        Long lastId = jdbcTemplate.queryForObject(COPY_BATCH, Long.class, afterId, migrationBatchSize);
+        if (lastId != null) {
+            jdbcTemplate.update("UPDATE movimentacao_migracao SET ultimo_id = ?, atualizado_em = now() WHERE tabela = ?",
+                    lastId, TARGET);
+        }
+        return lastId;
+    }
+
+    private void swap() {
+        jdbcTemplate.execute("LOCK TABLE movimentacao IN EXCLUSIVE MODE");
+        String oldSequence = jdbcTemplate.queryForObject(
+                "SELECT pg_get_serial_sequence('movimentacao', 'id')", String.class);
+        jdbcTemplate.execute("ALTER SEQUENCE " + oldSequence + " NO CYCLE");
+        Long lastValue = jdbcTemplate.queryForObject("SELECT last_value FROM " + oldSequence, Long.class);
+
+        int copied = jdbcTemplate.update("INSERT INTO " + TARGET + " SELECT * FROM movimentacao s " +
+                "WHERE NOT EXISTS (SELECT 1 FROM " + TARGET + " t WHERE t.id = s.id)");
+        Long sourceRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movimentacao", Long.class);
+        Long targetRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + TARGET, Long.class);
+        if (!sourceRows.equals(targetRows)) {
+            throw new IllegalStateException("Contagem divergente na migração de movimentacao: origem " + sourceRows +
+                    ", destino " + targetRows);
+        }
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + TARGET, Long.class);
+        long start = Math.max(lastValue, maxId);
+
+        jdbcTemplate.execute("ALTER SEQUENCE " + oldSequence + " MAXVALUE " + lastValue);
+        jdbcTemplate.execute("CREATE SEQUENCE " + TARGET + "_id_seq OWNED BY " + TARGET + ".id");
+        if (start > 0) {
+            jdbcTemplate.queryForObject("SELECT setval('" + TARGET + "_id_seq', ?)", Long.class, start);
+        }
+        jdbcTemplate.execute("ALTER TABLE " + TARGET + " ALTER COLUMN id SET DEFAULT nextval('" + TARGET + "_id_seq')");
+        jdbcTemplate.execute("ALTER TABLE movimentacao RENAME TO movimentacao_legado");
+        jdbcTemplate.execute("ALTER TABLE " + TARGET + " RENAME TO movimentacao");
+        jdbcTemplate.update("DELETE FROM movimentacao_migracao WHERE tabela = ?", TARGET);
+        log.info("Troca para movimentacao particionada concluída: {} registros copiados durante o bloqueio, " +
+                "{} registros no total, ids a partir de {}", copied, targetRows, start + 1);
+    }
+
+    private void createPartition(String parent, YearMonth month) {
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.plusMonths(1).atDay(1);
+        String name = String.format("movimentacao_y%04dm%02d", month.getYear(), month.getMonthValue());
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + parent + " " +
+                "FOR VALUES FROM ('" + start + "') TO ('" + end + "')");
+    }
+}
@@ -1,17 +1,49 @@
 package com.nexdom.nexdomestoquechallenger.repository;
 
+import com.nexdom.nexdomestoquechallenger.dto.projection.MovementRow;
+import com.nexdom.nexdomestoquechallenger.dto.projection.StockPosting;
 import com.nexdom.nexdomestoquechallenger.entity.Movement;
 import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MovementRepository extends JpaRepository<Movement, Long> {
-    List<Movement> findByProductId(Long productId);
+
+    String MOVEMENT_ROW = "SELECT new com.nexdom.nexdomestoquechallenger.dto.projection.MovementRow(" +
+            "m.id, p.id, p.name, m.type, m.quantity, m.dateTime, m.responsibleUser, m.reason, m.salePrice, " +
+            "m.createdAt, m.updatedAt) ";
+
+    @Query(MOVEMENT_ROW + "FROM Movement m JOIN m.product p " +
+            "WHERE m.dateTime >= :from AND m.dateTime < :to " +
+            "AND m.dateTime >= :afterDateTime " +
+            "AND (m.dateTime > :afterDateTime OR m.id > :afterId) " +
+            "ORDER BY m.dateTime, m.id")
+    List<MovementRow> findPage(@Param("from") LocalDateTime from,
+                            @Param("to") LocalDateTime to,
+                            @Param("afterDateTime") LocalDateTime afterDateTime,
+                            @Param("afterId") Long afterId,
+                            Pageable pageable);
+
+    @Query(MOVEMENT_ROW + "FROM Movement m JOIN m.product p " +
+            "WHERE p.id = :productId " +
+            "AND m.dateTime >= :from AND m.dateTime < :to " +
+            "AND m.dateTime >= :afterDateTime " +
+            "AND (m.dateTime > :afterDateTime OR m.id > :afterId) " +
+            "ORDER BY m.dateTime, m.id")
+    List<MovementRow> findPageByProductId(@Param("productId") Long productId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("afterDateTime") LocalDateTime afterDateTime,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
 
     @Query("SELECT COALESCE(SUM(m.quantity), 0) FROM Movement m " +
             "WHERE m.product.id = :productId " +
@@ -24,7 +56,37 @@ public interface MovementRepository extends JpaRepository<Movement, Long> {
 
     @Query("SELECT m.product.id, SUM(m.quantity) FROM Movement m " +
             "WHERE m.product.id IN :productIds AND m.type = :type " +
+            "AND (m.reason IS NULL OR m.reason <> 'AJUSTE_RECONCILIACAO') " +
             "GROUP BY m.product.id")
     List<Object[]> sumQuantityByProductAndTypeIn(@Param("productIds") List<Long> productIds,
                                                  @Param("type") MovementType type);
-}
\ No newline at end of file
+
+    @Query("SELECT m.product.id, SUM(m.quantity), SUM(m.quantity * COALESCE(m.salePrice, 0)) FROM Movement m " +
+            "WHERE m.product.id IN :productIds AND m.type = 'SAIDA' AND m.reason = 'VENDA' " +
+            "GROUP BY m.product.id")
+    List<Object[]> sumSoldQuantityByProductIn(@Param("productIds") List<Long> productIds);
+
+    @Query(value = "WITH produto AS (" +
+            "UPDATE produtos SET quantidade_estoque = quantidade_estoque + :delta, updated_at = :now " +
+            "WHERE id = :productId AND quantidade_estoque + :delta >= 0 " +
+            "RETURNING id, nome, preco_venda, quantidade_estoque, estoque_minimo), " +
+            "movimento AS (" +
+            "INSERT INTO movimentacao (produto_id, tipo, quantidade, data_hora, usuario_responsavel, motivo, " +
+            "sale_price, created_at, updated_at) " +
+            "SELECT produto.id, :type, :quantity, :now, :responsibleUser, :reason, " +
+            "COALESCE(CAST(:salePrice AS double precision), produto.preco_venda), :now, :now FROM produto " +
+            "RETURNING id, produto_id, sale_price) " +
+            "SELECT movimento.id AS \"movementId\", produto.nome AS \"productName\", " +
+            "movimento.sale_price AS \"salePrice\", produto.quantidade_estoque AS \"stockQuantity\", " +
+            "produto.estoque_minimo AS \"minimumStock\" " +
+            "FROM movimento JOIN produto ON produto.id = movimento.produto_id",
+            nativeQuery = true)
+    Optional<StockPosting> postMovement(@Param("productId") Long productId,
+                                        @Param("delta") int delta,
+                                        @Param("type") String type,
+                                        @Param("quantity") Integer quantity,
+                                        @Param("responsibleUser") String responsibleUser,
+                                        @Param("reason") String reason,
+                                        @Param("salePrice") Double salePrice,
+                                        @Param("now") LocalDateTime now);
+}
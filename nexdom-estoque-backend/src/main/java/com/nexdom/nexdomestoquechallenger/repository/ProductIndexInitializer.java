@@ -0,0 +1,53 @@
+package com.nexdom.nexdomestoquechallenger.repository;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@DependsOn("entityManagerFactory")
+public class ProductIndexInitializer {
+
+    private static final Map<String, String> INDEXES = Map.of(
+            "idx_produtos_categoria_ativo_preco", "ON produtos (categoria_id, ativo, preco_venda)",
+            "idx_produtos_fornecedor_ativo_preco", "ON produtos (fornecedor_id, ativo, preco_venda)",
+            "idx_produtos_sku_prefixo", "ON produtos (sku text_pattern_ops)",
+            "idx_produtos_updated_at_id", "ON produtos (updated_at DESC, id)",
+            "idx_produtos_abaixo_minimo",
+            "ON produtos (categoria_id, fornecedor_id) WHERE quantidade_estoque < estoque_minimo"
+    );
+
+    private static final List<String> OBSOLETE = List.of(
+            "idx_produtos_estoque_baixo",
+            "idx_produtos_estoque_baixo_categoria",
+            "idx_produtos_estoque_baixo_fornecedor"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductIndexInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        OBSOLETE.forEach(name -> jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name));
+        INDEXES.forEach((name, definition) -> {
+            if (isInvalid(name)) {
+                jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+            }
+            jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " " + definition);
+        });
+    }
+
+    private boolean isInvalid(String name) {
+        Integer invalid = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid " +
+                        "WHERE c.relname = ? AND NOT i.indisvalid", Integer.class, name);
+        return invalid != null && invalid > 0;
+    }
+}
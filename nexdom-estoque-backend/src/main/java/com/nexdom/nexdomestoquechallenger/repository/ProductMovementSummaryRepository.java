@@ -0,0 +1,9 @@
+package com.nexdom.nexdomestoquechallenger.repository;
+
+import com.nexdom.nexdomestoquechallenger.entity.ProductMovementSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductMovementSummaryRepository extends JpaRepository<ProductMovementSummary, Long> {
+}
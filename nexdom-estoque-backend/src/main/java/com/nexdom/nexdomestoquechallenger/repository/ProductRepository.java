@@ -1,15 +1,72 @@
 package com.nexdom.nexdomestoquechallenger.repository;
 
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductRow;
 import com.nexdom.nexdomestoquechallenger.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    String PRODUCT_ROW = "SELECT new com.nexdom.nexdomestoquechallenger.dto.projection.ProductRow(" +
+            "p.id, p.name, p.description, p.sku, p.supplierPrice, p.salePrice, p.stockQuantity, p.minimumStock, " +
+            "p.unitOfMeasure, c.id, c.name, s.id, s.name, p.createdAt, p.updatedAt) ";
+
+    String LOW_STOCK = "p.active = true AND p.stockQuantity < p.minimumStock";
+
     boolean existsBySku(String sku);
 
-    List<Product> findByCategoryName(String categoryName);
+    @EntityGraph("Product.detalhe")
+    Optional<Product> findDetailById(Long id);
+
+    boolean existsByCategoryId(Long categoryId);
+
+    boolean existsBySupplierId(Long supplierId);
+
+    @Query(value = PRODUCT_ROW + "FROM Product p JOIN p.category c LEFT JOIN p.supplier s",
+            countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductRow> findRows(Pageable pageable);
+
+    @Query(PRODUCT_ROW + "FROM Product p JOIN p.category c LEFT JOIN p.supplier s WHERE c.name = :categoryName")
+    List<ProductRow> findRowsByCategoryName(@Param("categoryName") String categoryName);
+
+    @Query(value = PRODUCT_ROW + "FROM Product p JOIN p.category c LEFT JOIN p.supplier s WHERE " + LOW_STOCK,
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE " + LOW_STOCK)
+    Page<ProductRow> findLowStockRows(Pageable pageable);
+
+    @Query(value = PRODUCT_ROW + "FROM Product p JOIN p.category c LEFT JOIN p.supplier s WHERE " + LOW_STOCK +
+            " AND p.category.id = :categoryId",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE " + LOW_STOCK + " AND p.category.id = :categoryId")
+    Page<ProductRow> findLowStockRowsByCategory(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(value = PRODUCT_ROW + "FROM Product p JOIN p.category c LEFT JOIN p.supplier s WHERE " + LOW_STOCK +
+            " AND p.supplier.id = :supplierId",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE " + LOW_STOCK + " AND p.supplier.id = :supplierId")
+    Page<ProductRow> findLowStockRowsBySupplier(@Param("supplierId") Long supplierId, Pageable pageable);
+
+    @Query(value = PRODUCT_ROW + "FROM Product p JOIN p.category c LEFT JOIN p.supplier s WHERE " + LOW_STOCK +
+            " AND p.category.id = :categoryId AND p.supplier.id = :supplierId",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE " + LOW_STOCK +
+                    " AND p.category.id = :categoryId AND p.supplier.id = :supplierId")
+    Page<ProductRow> findLowStockRowsByCategoryAndSupplier(@Param("categoryId") Long categoryId,
+                                                            @Param("supplierId") Long supplierId,
+                                                            Pageable pageable);
+
+    @Query("SELECT p.id FROM Product p ORDER BY p.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT p.updatedAt FROM Product p WHERE p.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    @Query("SELECT p.category.name FROM Product p WHERE p.id = :id")
+    Optional<String> findCategoryNameById(@Param("id") Long id);
 }
\ No newline at end of file
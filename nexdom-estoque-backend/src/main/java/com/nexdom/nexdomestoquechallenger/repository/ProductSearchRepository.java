@@ -0,0 +1,162 @@
+package com.nexdom.nexdomestoquechallenger.repository;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.FacetCount;
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductRow;
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductSearchPage;
+import com.nexdom.nexdomestoquechallenger.dto.request.ProductSearchRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class ProductSearchRepository {
+
+    private static final Map<String, String> SORTABLE = Map.of(
+            "nome", "p.nome",
+            "name", "p.nome",
+            "precoVenda", "p.preco_venda",
+            "salePrice", "p.preco_venda",
+            "quantidadeEstoque", "p.quantidade_estoque",
+            "stockQuantity", "p.quantidade_estoque",
+            "updatedAt", "p.updated_at",
+            "createdAt", "p.created_at"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public ProductSearchPage search(ProductSearchRequest filter, Pageable pageable) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder base = new StringBuilder("SELECT p.id, p.categoria_id, p.fornecedor_id FROM produtos p WHERE 1 = 1");
+        if (filter.getAtivo() != null) {
+            base.append(" AND p.ativo = ?");
+            args.add(filter.getAtivo());
+        }
+        if (filter.getPrecoMin() != null) {
+            base.append(" AND p.preco_venda >= ?");
+            args.add(filter.getPrecoMin());
+        }
+        if (filter.getPrecoMax() != null) {
+            base.append(" AND p.preco_venda <= ?");
+            args.add(filter.getPrecoMax());
+        }
+        if (Boolean.TRUE.equals(filter.getAbaixoMinimo())) {
+            base.append(" AND p.quantidade_estoque < p.estoque_minimo");
+        }
+        if (filter.getSkuPrefixo() != null && !filter.getSkuPrefixo().isBlank()) {
+            base.append(" AND p.sku LIKE ?");
+            args.add(escapeLike(filter.getSkuPrefixo()) + "%");
+        }
+
+        String categoryFilter = filter.getCategoriaId() != null ? " AND b.categoria_id = ?" : "";
+        String supplierFilter = filter.getFornecedorId() != null ? " AND b.fornecedor_id = ?" : "";
+
+        String sql = "WITH base AS NOT MATERIALIZED (" + base + "), " +
+                "filtrado AS NOT MATERIALIZED (SELECT b.id FROM base b WHERE 1 = 1" + categoryFilter + supplierFilter + ") " +
+                "SELECT 'ITEM' AS tipo, pg.posicao, pg.id, pg.nome, pg.descricao, pg.sku, pg.supplier_price, " +
+                "pg.preco_venda, pg.quantidade_estoque, pg.estoque_minimo, pg.unidade_medida, " +
+                "c.id AS categoria_id, c.nome AS categoria_nome, f.id AS fornecedor_id, f.nome AS fornecedor_nome, " +
+                "pg.created_at, pg.updated_at, NULL::bigint AS quantidade " +
+                "FROM (SELECT p.*, ROW_NUMBER() OVER (ORDER BY " + orderBy(pageable.getSort()) + ") AS posicao " +
+                "FROM produtos p JOIN filtrado fl ON fl.id = p.id " +
+                "ORDER BY " + orderBy(pageable.getSort()) + " LIMIT ? OFFSET ?) pg " +
+                "JOIN categoria c ON c.id = pg.categoria_id " +
+                "LEFT JOIN fornecedor f ON f.id = pg.fornecedor_id " +
+                "UNION ALL " +
+                "SELECT 'CATEGORIA', NULL, c.id, c.nome, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, " +
+                "NULL, NULL, NULL, COUNT(*) " +
+                "FROM base b JOIN categoria c ON c.id = b.categoria_id WHERE 1 = 1" + supplierFilter +
+                " GROUP BY c.id, c.nome " +
+                "UNION ALL " +
+                "SELECT 'FORNECEDOR', NULL, f.id, f.nome, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, " +
+                "NULL, NULL, NULL, COUNT(*) " +
+                "FROM base b JOIN fornecedor f ON f.id = b.fornecedor_id WHERE 1 = 1" + categoryFilter +
+                " GROUP BY f.id, f.nome " +
+                "UNION ALL " +
+                "SELECT 'TOTAL', NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, " +
+                "NULL, NULL, NULL, COUNT(*) FROM filtrado";
+
+        if (filter.getCategoriaId() != null) {
+            args.add(filter.getCategoriaId());
+        }
+        if (filter.getFornecedorId() != null) {
+            args.add(filter.getFornecedorId());
+        }
+        args.add(pageable.getPageSize());
+        args.add(pageable.getOffset());
+        if (filter.getFornecedorId() != null) {
+            args.add(filter.getFornecedorId());
+        }
+        if (filter.getCategoriaId() != null) {
+            args.add(filter.getCategoriaId());
+        }
+
+        List<IndexedRow> rows = new ArrayList<>();
+        List<FacetCount> categories = new ArrayList<>();
+        List<FacetCount> suppliers = new ArrayList<>();
+        long[] total = new long[1];
+        jdbcTemplate.query(sql, rs -> {
+            switch (rs.getString("tipo")) {
+                case "ITEM" -> rows.add(new IndexedRow(rs.getLong("posicao"), new ProductRow(
+                        rs.getLong("id"),
+                        rs.getString("nome"),
+                        rs.getString("descricao"),
+                        rs.getString("sku"),
+                        rs.getDouble("supplier_price"),
+                        rs.getDouble("preco_venda"),
+                        rs.getInt("quantidade_estoque"),
+                        (Integer) rs.getObject("estoque_minimo"),
+                        rs.getString("unidade_medida"),
+                        rs.getLong("categoria_id"),
+                        rs.getString("categoria_nome"),
+                        (Long) rs.getObject("fornecedor_id"),
+                        rs.getString("fornecedor_nome"),
+                        toLocalDateTime(rs.getTimestamp("created_at")),
+                        toLocalDateTime(rs.getTimestamp("updated_at")))));
+                case "CATEGORIA" -> categories.add(
+                        new FacetCount(rs.getLong("id"), rs.getString("nome"), rs.getLong("quantidade")));
+                case "FORNECEDOR" -> suppliers.add(
+                        new FacetCount(rs.getLong("id"), rs.getString("nome"), rs.getLong("quantidade")));
+                default -> total[0] = rs.getLong("quantidade");
+            }
+        }, args.toArray());
+
+        rows.sort((a, b) -> Long.compare(a.position(), b.position()));
+        categories.sort((a, b) -> Long.compare(b.count(), a.count()));
+        suppliers.sort((a, b) -> Long.compare(b.count(), a.count()));
+        return new ProductSearchPage(rows.stream().map(IndexedRow::row).toList(), total[0], categories, suppliers);
+    }
+
+    private String orderBy(Sort sort) {
+        StringBuilder orderBy = new StringBuilder();
+        for (Sort.Order order : sort) {
+            String column = SORTABLE.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Ordenação não suportada: " + order.getProperty());
+            }
+            orderBy.append(column).append(order.isAscending() ? " ASC" : " DESC").append(", ");
+        }
+        return orderBy.append("p.id").toString();
+    }
+
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private record IndexedRow(long position, ProductRow row) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.nexdom.nexdomestoquechallenger.repository;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.ValuationTotals;
+import com.nexdom.nexdomestoquechallenger.entity.ProductValuation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductValuationRepository extends JpaRepository<ProductValuation, Long> {
+
+    String VALUATION_TOTALS = "SUM(v.quantity), SUM(v.stockValue), SUM(v.costOfSales), SUM(v.salesRevenue)) ";
+
+    @Query("SELECT new com.nexdom.nexdomestoquechallenger.dto.projection.ValuationTotals(c.id, c.name, " +
+            VALUATION_TOTALS +
+            "FROM ProductValuation v, Product p JOIN p.category c " +
+            "WHERE p.id = v.productId GROUP BY c.id, c.name ORDER BY c.name")
+    List<ValuationTotals> sumByCategory();
+
+    @Query("SELECT new com.nexdom.nexdomestoquechallenger.dto.projection.ValuationTotals(s.id, s.name, " +
+            VALUATION_TOTALS +
+            "FROM ProductValuation v, Product p LEFT JOIN p.supplier s " +
+            "WHERE p.id = v.productId GROUP BY s.id, s.name ORDER BY s.name")
+    List<ValuationTotals> sumBySupplier();
+}
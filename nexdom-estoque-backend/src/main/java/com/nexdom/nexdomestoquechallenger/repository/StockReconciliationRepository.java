@@ -0,0 +1,125 @@
+package com.nexdom.nexdomestoquechallenger.repository;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.StockDiscrepancy;
+import jakarta.annotation.PostConstruct;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Repository
+public class StockReconciliationRepository {
+
+    private static final List<String> DDL = List.of(
+            "CREATE TABLE IF NOT EXISTS divergencia_estoque (" +
+                    "id BIGSERIAL PRIMARY KEY, execucao VARCHAR(36) NOT NULL, produto_id BIGINT NOT NULL, " +
+                    "estoque_atual INTEGER NOT NULL, estoque_movimentacoes INTEGER NOT NULL, " +
+                    "corrigida BOOLEAN NOT NULL DEFAULT FALSE, detectada_em TIMESTAMP NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS idx_divergencia_estoque_execucao ON divergencia_estoque (execucao, id)",
+            "CREATE INDEX IF NOT EXISTS idx_divergencia_estoque_detectada_em ON divergencia_estoque (detectada_em)"
+    );
+
+    private static final String DELTA = "CASE WHEN m.tipo = 'ENTRADA' THEN m.quantidade ELSE -m.quantidade END";
+
+    private static final String CHECK_RANGE =
+            "SELECT p.id, p.quantidade_estoque, " +
+                    "p.estoque_inicial + COALESCE(SUM(" + DELTA + "), 0) AS estoque_movimentacoes " +
+                    "FROM produtos p LEFT JOIN movimentacao m ON m.produto_id = p.id " +
+                    "WHERE p.id >= ? AND p.id < ? AND p.estoque_inicial IS NOT NULL GROUP BY p.id, p.quantidade_estoque, p.estoque_inicial";
+
+    private static final String INSERT_DISCREPANCY =
+            "INSERT INTO divergencia_estoque (execucao, produto_id, estoque_atual, estoque_movimentacoes, detectada_em) " +
+                    "VALUES (?, ?, ?, ?, ?)";
+
+    private static final RowMapper<StockDiscrepancy> DISCREPANCY_MAPPER = (rs, rowNum) -> new StockDiscrepancy(
+            rs.getLong("id"),
+            rs.getString("execucao"),
+            rs.getLong("produto_id"),
+            rs.getInt("estoque_atual"),
+            rs.getInt("estoque_movimentacoes"),
+            rs.getBoolean("corrigida"),
+            rs.getTimestamp("detectada_em").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockReconciliationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        DDL.forEach(jdbcTemplate::execute);
+    }
+
+    public long[] findIdBounds() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MIN(id), 0), COALESCE(MAX(id), -1) FROM produtos",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+    }
+
+    public int checkRange(long fromId, long toIdExclusive, Consumer<StockDiscrepancy> onDiscrepancy) {
+        int[] checked = {0};
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.query(CHECK_RANGE, rs -> {
+            checked[0]++;
+            int stock = rs.getInt("quantidade_estoque");
+            int ledger = rs.getInt("estoque_movimentacoes");
+            if (stock != ledger) {
+                onDiscrepancy.accept(new StockDiscrepancy(null, null, rs.getLong("id"), stock, ledger, false, now));
+            }
+        }, fromId, toIdExclusive);
+        return checked[0];
+    }
+
+    public void insertDiscrepancies(String runId, List<StockDiscrepancy> discrepancies) {
+        jdbcTemplate.batchUpdate(INSERT_DISCREPANCY, discrepancies, discrepancies.size(), (ps, discrepancy) -> {
+            ps.setString(1, runId);
+            ps.setLong(2, discrepancy.productId());
+            ps.setInt(3, discrepancy.stockQuantity());
+            ps.setInt(4, discrepancy.ledgerQuantity());
+            ps.setObject(5, discrepancy.detectedAt());
+        });
+    }
+
+    public Integer findLedgerQuantity(Long productId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT p.estoque_inicial + (SELECT COALESCE(SUM(" + DELTA + "), 0) " +
+                        "FROM movimentacao m WHERE m.produto_id = p.id) FROM produtos p WHERE p.id = ?",
+                Integer.class, productId);
+    }
+
+    public List<Long> lockProductsWithoutBaseline(int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM produtos WHERE estoque_inicial IS NULL ORDER BY id LIMIT ? " +
+                "FOR UPDATE", Long.class, limit);
+    }
+
+    public int backfillInitialStock(List<Long> productIds) {
+        return jdbcTemplate.update(
+                "UPDATE produtos p SET estoque_inicial = p.quantidade_estoque - (SELECT COALESCE(SUM(" + DELTA + "), 0) " +
+                        "FROM movimentacao m WHERE m.produto_id = p.id) WHERE p.id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", productIds.toArray())));
+    }
+
+    public int deleteDetectedBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM divergencia_estoque WHERE detectada_em < ?", cutoff);
+    }
+
+    public void markCorrected(String runId, Long productId) {
+        jdbcTemplate.update("UPDATE divergencia_estoque SET corrigida = TRUE WHERE execucao = ? AND produto_id = ?",
+                runId, productId);
+    }
+
+    public List<StockDiscrepancy> findByRun(String runId, Long afterId, int limit) {
+        List<Object> args = new ArrayList<>(List.of(runId));
+        String sql = "SELECT * FROM divergencia_estoque WHERE execucao = ?";
+        if (afterId != null) {
+            sql += " AND id > ?";
+            args.add(afterId);
+        }
+        args.add(limit);
+        return jdbcTemplate.query(sql + " ORDER BY id LIMIT ?", DISCREPANCY_MAPPER, args.toArray());
+    }
+}
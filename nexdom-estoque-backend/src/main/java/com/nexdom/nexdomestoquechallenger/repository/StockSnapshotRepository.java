@@ -0,0 +1,103 @@
+package com.nexdom.nexdomestoquechallenger.repository;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.StockAsOf;
+import jakarta.annotation.PostConstruct;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class StockSnapshotRepository {
+
+    private static final List<String> DDL = List.of(
+            "CREATE TABLE IF NOT EXISTS estoque_snapshot (" +
+                    "dia DATE NOT NULL, produto_id BIGINT NOT NULL, quantidade INTEGER NOT NULL, " +
+                    "PRIMARY KEY (dia, produto_id))",
+            "CREATE INDEX IF NOT EXISTS idx_estoque_snapshot_produto_dia ON estoque_snapshot (produto_id, dia DESC)"
+    );
+
+    private static final String DELTA = "CASE WHEN m.motivo = 'AJUSTE_RECONCILIACAO' THEN 0 " +
+            "WHEN m.tipo = 'ENTRADA' THEN m.quantidade ELSE -m.quantidade END";
+
+    private static final String CAPTURE =
+            "INSERT INTO estoque_snapshot (dia, produto_id, quantidade) " +
+                    "SELECT ?, p.id, p.quantidade_estoque - COALESCE(SUM(" + DELTA + "), 0) " +
+                    "FROM produtos p " +
+                    "LEFT JOIN LATERAL (SELECT MAX(es.dia) AS dia FROM estoque_snapshot es " +
+                    "WHERE es.produto_id = p.id AND es.dia < ?) s ON TRUE " +
+                    "LEFT JOIN movimentacao m ON m.produto_id = p.id AND m.data_hora >= ? " +
+                    "WHERE s.dia IS NULL OR EXISTS (SELECT 1 FROM movimentacao mv WHERE mv.produto_id = p.id " +
+                    "AND mv.data_hora >= s.dia + 1 AND mv.data_hora < ?) " +
+                    "GROUP BY p.id, p.quantidade_estoque " +
+                    "ON CONFLICT (dia, produto_id) DO UPDATE SET quantidade = EXCLUDED.quantidade";
+
+    private static final String AS_OF =
+            "SELECT p.id, p.nome, p.sku, s.dia, " +
+                    "CASE WHEN s.dia IS NOT NULL THEN s.quantidade + COALESCE(SUM(" + DELTA + "), 0) " +
+                    "ELSE p.quantidade_estoque - COALESCE(SUM(" + DELTA + "), 0) END AS quantidade " +
+                    "FROM produtos p " +
+                    "LEFT JOIN LATERAL (SELECT es.dia, es.quantidade FROM estoque_snapshot es " +
+                    "WHERE es.produto_id = p.id AND es.dia < CAST(? AS DATE) ORDER BY es.dia DESC LIMIT 1) s ON TRUE " +
+                    "LEFT JOIN movimentacao m ON m.produto_id = p.id AND (" +
+                    "(s.dia IS NOT NULL AND m.data_hora >= s.dia + 1 AND m.data_hora <= ?) OR " +
+                    "(s.dia IS NULL AND m.data_hora > ?)) ";
+
+    private static final String AS_OF_GROUP = " GROUP BY p.id, p.nome, p.sku, p.quantidade_estoque, s.dia, s.quantidade";
+
+    private static final RowMapper<StockAsOf> AS_OF_MAPPER = (rs, rowNum) -> {
+        Date day = rs.getDate("dia");
+        return new StockAsOf(
+                rs.getLong("id"),
+                rs.getString("nome"),
+                rs.getString("sku"),
+                rs.getInt("quantidade"),
+                day != null ? day.toLocalDate() : null);
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockSnapshotRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        DDL.forEach(jdbcTemplate::execute);
+    }
+
+    public int capture(LocalDate day) {
+        Timestamp end = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        return jdbcTemplate.update(CAPTURE, Date.valueOf(day), Date.valueOf(day), end, end);
+    }
+
+    public boolean exists(LocalDate day) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM estoque_snapshot WHERE dia = ?)", Boolean.class, Date.valueOf(day)));
+    }
+
+    public int deleteBefore(LocalDate day) {
+        return jdbcTemplate.update("DELETE FROM estoque_snapshot es WHERE es.dia < ? AND EXISTS (" +
+                "SELECT 1 FROM estoque_snapshot newer WHERE newer.produto_id = es.produto_id AND newer.dia > es.dia)",
+                Date.valueOf(day));
+    }
+
+    public Optional<StockAsOf> findProductAsOf(Long productId, LocalDateTime at) {
+        Timestamp timestamp = Timestamp.valueOf(at);
+        return jdbcTemplate.query(AS_OF + "WHERE p.id = ?" + AS_OF_GROUP, AS_OF_MAPPER,
+                timestamp, timestamp, timestamp, productId).stream().findFirst();
+    }
+
+    public List<StockAsOf> findCategoryAsOf(String categoryName, LocalDateTime at) {
+        Timestamp timestamp = Timestamp.valueOf(at);
+        return jdbcTemplate.query(AS_OF + "JOIN categoria c ON c.id = p.categoria_id WHERE c.nome = ?" +
+                        AS_OF_GROUP + " ORDER BY p.nome",
+                AS_OF_MAPPER, timestamp, timestamp, timestamp, categoryName);
+    }
+}
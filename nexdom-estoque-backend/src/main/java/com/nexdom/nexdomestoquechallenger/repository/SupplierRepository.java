@@ -1,7 +1,10 @@
 package com.nexdom.nexdomestoquechallenger.repository;
 
+import com.nexdom.nexdomestoquechallenger.dto.projection.SupplierRow;
 import com.nexdom.nexdomestoquechallenger.entity.Supplier;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,9 +12,19 @@ import java.util.Optional;
 
 @Repository
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+
+    String SUPPLIER_ROW = "SELECT new com.nexdom.nexdomestoquechallenger.dto.projection.SupplierRow(" +
+            "s.id, s.name, s.cnpj, s.phone, s.email, s.address, s.createdAt, s.updatedAt) ";
+
     boolean existsByCnpj(String cnpj);
 
     Optional<Supplier> findByCnpj(String cnpj);
 
     List<Supplier> findByNameContainingIgnoreCase(String name);
+
+    @Query(SUPPLIER_ROW + "FROM Supplier s")
+    List<SupplierRow> findAllRows();
+
+    @Query(SUPPLIER_ROW + "FROM Supplier s WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    List<SupplierRow> findRowsByNameContainingIgnoreCase(@Param("name") String name);
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.nexdom.nexdomestoquechallenger.search;
+
+import com.nexdom.nexdomestoquechallenger.dto.response.SearchResultResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+public class CatalogSearchIndex {
+
+    public static final String PRODUCT = "PRODUTO";
+    public static final String SUPPLIER = "FORNECEDOR";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double minimumSimilarity;
+    private final TrigramIndex products = new TrigramIndex();
+    private final TrigramIndex suppliers = new TrigramIndex();
+
+    public CatalogSearchIndex(
+            JdbcTemplate jdbcTemplate,
+            @Value("${estoque.busca.similaridade-minima:0.5}") double minimumSimilarity
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.minimumSimilarity = minimumSimilarity;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.query("SELECT id, nome, sku, descricao FROM produtos WHERE ativo", rs -> {
+            putProduct(rs.getLong("id"), rs.getString("nome"), rs.getString("sku"), rs.getString("descricao"));
+        });
+        jdbcTemplate.query("SELECT id, nome, cnpj FROM fornecedor", rs -> {
+            putSupplier(rs.getLong("id"), rs.getString("nome"), rs.getString("cnpj"));
+        });
+        log.info("Índice de busca montado com {} produtos e {} fornecedores em {} ms",
+                products.size(), suppliers.size(), System.currentTimeMillis() - start);
+    }
+
+    public void indexProduct(Long id, String name, String sku, String description, boolean active) {
+        afterCommit(() -> {
+            if (active) {
+                putProduct(id, name, sku, description);
+            } else {
+                products.remove(id);
+            }
+        });
+    }
+
+    public void indexSupplier(Long id, String name, String cnpj) {
+        afterCommit(() -> putSupplier(id, name, cnpj));
+    }
+
+    public void removeSupplier(Long id) {
+        afterCommit(() -> suppliers.remove(id));
+    }
+
+    public List<SearchResultResponse> search(String query, int limit) {
+        List<SearchResultResponse> results = new ArrayList<>();
+        products.search(query, limit, minimumSimilarity)
+                .forEach(match -> results.add(SearchResultResponse.of(PRODUCT, match)));
+        suppliers.search(query, limit, minimumSimilarity)
+                .forEach(match -> results.add(SearchResultResponse.of(SUPPLIER, match)));
+        results.sort((a, b) -> Double.compare(b.getPontuacao(), a.getPontuacao()));
+        return results.size() > limit ? results.subList(0, limit) : results;
+    }
+
+    private void putProduct(Long id, String name, String sku, String description) {
+        products.put(id, name, sku, name, sku, compact(sku), description);
+    }
+
+    private void putSupplier(Long id, String name, String cnpj) {
+        suppliers.put(id, name, cnpj, name, cnpj, compact(cnpj));
+    }
+
+    private String compact(String value) {
+        return value != null ? TrigramIndex.normalize(value).replace(" ", "") : null;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.nexdom.nexdomestoquechallenger.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+public class TrigramIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Long id, String title, String detail, String... fields) {
+        StringBuilder text = new StringBuilder();
+        for (String field : fields) {
+            if (field != null) {
+                text.append(' ').append(normalize(field));
+            }
+        }
+        Document document = new Document(id, title, detail, normalize(title), text.toString().trim());
+        Set<String> trigrams = trigrams(document.text(), true);
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+            documents.put(id, document);
+            trigrams.forEach(trigram -> postings.computeIfAbsent(trigram, key -> new HashSet<>()).add(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Match> search(String query, int limit, double minimumSimilarity) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Set<String> trigrams = trigrams(normalized, false);
+        int required = Math.max(1, (int) Math.ceil(trigrams.size() * minimumSimilarity));
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> hits = new HashMap<>();
+            for (String trigram : trigrams) {
+                Set<Long> ids = postings.get(trigram);
+                if (ids != null) {
+                    ids.forEach(id -> hits.merge(id, 1, Integer::sum));
+                }
+            }
+
+            List<Match> matches = new ArrayList<>();
+            hits.forEach((id, count) -> {
+                if (count >= required) {
+                    Document document = documents.get(id);
+                    matches.add(new Match(id, document.title(), document.detail(),
+                            score(document, normalized, count, trigrams.size())));
+                }
+            });
+            matches.sort((a, b) -> Double.compare(b.score(), a.score()));
+            return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase()).replaceAll(" ").trim();
+    }
+
+    private double score(Document document, String query, int matched, int total) {
+        double score = (double) matched / total;
+        if (document.normalizedTitle().startsWith(query)) {
+            score += 1.0;
+        } else if (document.text().contains(query)) {
+            score += 0.5;
+        }
+        return score - document.normalizedTitle().length() / 1000.0;
+    }
+
+    private Set<String> trigrams(String text, boolean padEnd) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : text.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + (padEnd ? " " : "");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private void removeUnlocked(Long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String trigram : trigrams(previous.text(), true)) {
+            Set<Long> ids = postings.get(trigram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    public record Match(Long id, String title, String detail, double score) {
+    }
+
+    private record Document(Long id, String title, String detail, String normalizedTitle, String text) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.nexdom.nexdomestoquechallenger.service;
+
+import com.nexdom.nexdomestoquechallenger.event.MovementsPostedEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class CatalogVersionService {
+
+    public static final String PRODUCTS = "produtos";
+    public static final String CATEGORIES = "categorias";
+    public static final String SUPPLIERS = "fornecedores";
+
+    private final long bootId = System.currentTimeMillis();
+    private final Map<String, AtomicReference<Version>> versions = new ConcurrentHashMap<>();
+
+    public void bump(String table) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(table);
+                }
+            });
+        } else {
+            increment(table);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMovementsPosted(MovementsPostedEvent event) {
+        increment(PRODUCTS);
+    }
+
+    public String etag(String resource, String... tables) {
+        StringBuilder etag = new StringBuilder("\"").append(resource).append('-').append(bootId);
+        for (String table : tables) {
+            etag.append('-').append(current(table).counter());
+        }
+        return etag.append('"').toString();
+    }
+
+    public long lastModified(String... tables) {
+        long lastModified = 0;
+        for (String table : tables) {
+            lastModified = Math.max(lastModified, current(table).lastModified());
+        }
+        return lastModified;
+    }
+
+    private Version current(String table) {
+        return reference(table).get();
+    }
+
+    private void increment(String table) {
+        reference(table).updateAndGet(version -> new Version(version.counter() + 1, System.currentTimeMillis()));
+    }
+
+    private AtomicReference<Version> reference(String table) {
+        return versions.computeIfAbsent(table, key -> new AtomicReference<>(new Version(0, bootId)));
+    }
+
+    private record Version(long counter, long lastModified) {
+    }
+}
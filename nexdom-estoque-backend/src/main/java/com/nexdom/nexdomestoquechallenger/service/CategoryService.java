@@ -1,10 +1,16 @@
 package com.nexdom.nexdomestoquechallenger.service;
 
+import com.nexdom.nexdomestoquechallenger.config.CacheConfig;
 import com.nexdom.nexdomestoquechallenger.dto.request.CategoriaCreateRequest;
 import com.nexdom.nexdomestoquechallenger.dto.response.CategoryCreateResponse;
 import com.nexdom.nexdomestoquechallenger.entity.Category;
 import com.nexdom.nexdomestoquechallenger.exceptions.ResourceNotFoundException;
 import com.nexdom.nexdomestoquechallenger.repository.CategoryRepository;
+import com.nexdom.nexdomestoquechallenger.repository.ProductRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,12 +22,18 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final CatalogVersionService catalogVersions;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, ProductRepository productRepository,
+                           CatalogVersionService catalogVersions) {
         this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.catalogVersions = catalogVersions;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
     public CategoryCreateResponse createCategoryService(CategoriaCreateRequest categoriaCreateRequest) {
         if (categoryRepository.existsByName(categoriaCreateRequest.getName())) {
             throw new IllegalArgumentException("Já existe uma categoria com o nome: " + categoriaCreateRequest.getName());
@@ -35,6 +47,7 @@ public class CategoryService {
         category.setUpdatedAt(LocalDateTime.now());
 
         Category categorySalva = categoryRepository.save(category);
+        catalogVersions.bump(CatalogVersionService.CATEGORIES);
         return CategoryCreateResponse.of(categorySalva);
     }
 
@@ -43,18 +56,28 @@ public class CategoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada com ID: " + id));
     }
 
+    public Category getCategoryReference(Long id) {
+        return categoryRepository.getReferenceById(id);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.CATEGORY, key = "#id")
     public CategoryCreateResponse searchCategoryById(Long id) {
         Category category = getCategoryById(id);
         return CategoryCreateResponse.of(category);
     }
 
+    @Cacheable(CacheConfig.CATEGORIES)
     public List<CategoryCreateResponse> listarTodas() {
-        return categoryRepository.findAll().stream()
+        return categoryRepository.findAllRows().stream()
                 .map(CategoryCreateResponse::of)
                 .collect(Collectors.toList());
     }
 
     @Transactional
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.CATEGORY, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
+    )
     public CategoryCreateResponse atualizarCategoria(Long id, CategoriaCreateRequest categoriaCreateRequest) {
         Category category = getCategoryById(id);
 
@@ -66,17 +89,23 @@ public class CategoryService {
         category.setName(categoriaCreateRequest.getName());
         category.setDescription(categoriaCreateRequest.getDescription());
 
+        catalogVersions.bump(CatalogVersionService.CATEGORIES);
         return CategoryCreateResponse.of(categoryRepository.save(category));
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORY, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
+    })
     public void excluirCategoria(Long id) {
         Category category = getCategoryById(id);
 
-        if (!category.getProducts().isEmpty()) {
+        if (productRepository.existsByCategoryId(id)) {
             throw new IllegalStateException("Não é possível excluir a categoria pois ela está associada a produtos");
         }
 
         categoryRepository.delete(category);
+        catalogVersions.bump(CatalogVersionService.CATEGORIES);
     }
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.nexdom.nexdomestoquechallenger.service;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.DailyRollup;
+import com.nexdom.nexdomestoquechallenger.dto.projection.PostedMovement;
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductDimensions;
+import com.nexdom.nexdomestoquechallenger.dto.response.PeriodReportResponse;
+import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+import com.nexdom.nexdomestoquechallenger.enums.ReportPeriod;
+import com.nexdom.nexdomestoquechallenger.event.MovementsPostedEvent;
+import com.nexdom.nexdomestoquechallenger.repository.DailyRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class DailyRollupService {
+
+    private static final String SALE_REASON = "VENDA";
+
+    private final DailyRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maximumDays;
+    private final int rebuildChunkDays;
+
+    public DailyRollupService(
+            DailyRollupRepository rollupRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${estoque.relatorios.maximo-dias:1830}") int maximumDays,
+            @Value("${estoque.relatorios.dias-por-lote-recalculo:31}") int rebuildChunkDays
+    ) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maximumDays = maximumDays;
+        this.rebuildChunkDays = rebuildChunkDays;
+    }
+
+    @EventListener
+    public void onMovementsPosted(MovementsPostedEvent event) {
+        Map<Long, ProductDimensions> dimensions = rollupRepository.findDimensions(event.getMovements().stream()
+                .map(PostedMovement::getProductId)
+                .collect(Collectors.toSet()));
+
+        Comparator<DailyRollup> byDay = Comparator.comparing(DailyRollup::getDay);
+        Map<String, DailyRollup> products = new LinkedHashMap<>();
+        Map<String, DailyRollup> categories = new LinkedHashMap<>();
+        Map<Long, Double> unitCosts = new LinkedHashMap<>();
+        for (PostedMovement movement : event.getMovements()) {
+            ProductDimensions product = dimensions.get(movement.getProductId());
+            if (product == null || StockReconciliationService.ADJUSTMENT_REASON.equals(movement.getReason())) {
+                continue;
+            }
+            LocalDate day = movement.getDateTime().toLocalDate();
+            apply(products.computeIfAbsent(day + "|" + movement.getProductId(),
+                    key -> new DailyRollup(day, movement.getProductId(), product.categoryId(), product.supplierId(),
+                            0, 0, 0, 0.0, 0.0)), movement, product);
+            apply(categories.computeIfAbsent(day + "|" + product.categoryId() + "|" + product.supplierId(),
+                    key -> new DailyRollup(day, null, product.categoryId(), product.supplierId(),
+                            0, 0, 0, 0.0, 0.0)), movement, product);
+            if (movement.getType() == MovementType.SAIDA && SALE_REASON.equals(movement.getReason())) {
+                unitCosts.put(movement.getId(), product.supplierPrice());
+            }
+        }
+        if (!unitCosts.isEmpty()) {
+            rollupRepository.recordCosts(unitCosts);
+        }
+        if (!products.isEmpty()) {
+            rollupRepository.increment(
+                    products.values().stream().sorted(byDay.thenComparing(DailyRollup::getProductId)).toList(),
+                    categories.values().stream().sorted(byDay.thenComparing(DailyRollup::getCategoryId)
+                            .thenComparing(DailyRollup::getSupplierId)).toList());
+        }
+    }
+
+    private void apply(DailyRollup rollup, PostedMovement movement, ProductDimensions product) {
+        if (movement.getType() == MovementType.ENTRADA) {
+            rollup.setEntries(rollup.getEntries() + movement.getQuantity());
+            return;
+        }
+        rollup.setExits(rollup.getExits() + movement.getQuantity());
+        if (SALE_REASON.equals(movement.getReason())) {
+            double price = movement.getSalePrice() != null ? movement.getSalePrice() : 0.0;
+            rollup.setSoldQuantity(rollup.getSoldQuantity() + movement.getQuantity());
+            rollup.setRevenue(rollup.getRevenue() + movement.getQuantity() * price);
+            rollup.setCost(rollup.getCost() + movement.getQuantity() * product.supplierPrice());
+        }
+    }
+
+    public List<PeriodReportResponse> getReport(ReportPeriod period, LocalDate from, LocalDate to,
+                                                Long categoryId, Long supplierId) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        validateRange(start, end);
+        return rollupRepository.findCategoryTotals(period, start, end, categoryId, supplierId).stream()
+                .map(PeriodReportResponse::of)
+                .collect(Collectors.toList());
+    }
+
+    public List<PeriodReportResponse> getProductReport(Long productId, ReportPeriod period,
+                                                       LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        validateRange(start, end);
+        return rollupRepository.findProductTotals(period, start, end, productId).stream()
+                .map(PeriodReportResponse::of)
+                .collect(Collectors.toList());
+    }
+
+    private void validateRange(LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("A data inicial não pode ser posterior à data final");
+        }
+        if (ChronoUnit.DAYS.between(start, end) > maximumDays) {
+            throw new IllegalArgumentException("O período do relatório não pode exceder " + maximumDays + " dias");
+        }
+    }
+
+    public int rebuild() {
+        Optional<LocalDate> first = rollupRepository.findFirstDay();
+        Optional<LocalDate> last = rollupRepository.findLastDay();
+        int rows = 0;
+        if (first.isPresent() && last.isPresent()) {
+            for (LocalDate from = first.get(); !from.isAfter(last.get()); from = from.plusDays(rebuildChunkDays)) {
+                LocalDate start = from;
+                Integer chunk = transactionTemplate.execute(status -> rollupRepository.rebuild(start,
+                        start.plusDays(rebuildChunkDays), SALE_REASON, StockReconciliationService.ADJUSTMENT_REASON));
+                rows += chunk != null ? chunk : 0;
+            }
+        }
+        log.info("Consolidação diária recalculada, {} linhas por produto", rows);
+        return rows;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (rollupRepository.isEmpty()) {
+            rebuild();
+        }
+    }
+}
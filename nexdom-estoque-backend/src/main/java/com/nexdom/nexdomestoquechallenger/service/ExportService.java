@@ -0,0 +1,216 @@
+package com.nexdom.nexdomestoquechallenger.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.nexdom.nexdomestoquechallenger.enums.ExportFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class ExportService {
+
+    private static final String[] MOVEMENT_COLUMNS = {
+            "id", "produto_id", "produto", "categoria", "tipo", "quantidade", "data_hora",
+            "usuario_responsavel", "motivo", "sale_price"
+    };
+
+    private static final String[] PRODUCT_COLUMNS = {
+            "id", "nome", "sku", "categoria", "fornecedor", "preco_venda", "supplier_price",
+            "quantidade_estoque", "estoque_minimo", "unidade_medida", "ativo"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter valueWriter;
+
+    public ExportService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${estoque.exportacao.fetch-size:1000}") int fetchSize
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.valueWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public void exportMovements(LocalDateTime from, LocalDateTime to, String categoryName,
+                                ExportFormat format, OutputStream out) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT m.id, m.produto_id, p.nome AS produto, c.nome AS categoria, m.tipo, m.quantidade, " +
+                        "m.data_hora, m.usuario_responsavel, m.motivo, m.sale_price " +
+                        "FROM movimentacao m " +
+                        "JOIN produtos p ON p.id = m.produto_id " +
+                        "JOIN categoria c ON c.id = p.categoria_id WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND m.data_hora >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND m.data_hora < ?");
+            args.add(to);
+        }
+        if (categoryName != null && !categoryName.isBlank()) {
+            sql.append(" AND c.nome = ?");
+            args.add(categoryName);
+        }
+        sql.append(" ORDER BY m.data_hora, m.id");
+        export(sql.toString(), args, MOVEMENT_COLUMNS, format, out);
+    }
+
+    public void exportProducts(String categoryName, ExportFormat format, OutputStream out) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT p.id, p.nome, p.sku, c.nome AS categoria, f.nome AS fornecedor, p.preco_venda, " +
+                        "p.supplier_price, p.quantidade_estoque, p.estoque_minimo, p.unidade_medida, p.ativo " +
+                        "FROM produtos p " +
+                        "JOIN categoria c ON c.id = p.categoria_id " +
+                        "LEFT JOIN fornecedor f ON f.id = p.fornecedor_id");
+        List<Object> args = new ArrayList<>();
+        if (categoryName != null && !categoryName.isBlank()) {
+            sql.append(" WHERE c.nome = ?");
+            args.add(categoryName);
+        }
+        sql.append(" ORDER BY p.id");
+        export(sql.toString(), args, PRODUCT_COLUMNS, format, out);
+    }
+
+    private void export(String sql, List<Object> args, String[] columns, ExportFormat format, OutputStream out) {
+        RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        Object[] values = new Object[columns.length];
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try {
+                writer.header(columns);
+                jdbcTemplate.query(sql, (ResultSet rs) -> {
+                    for (int i = 0; i < columns.length; i++) {
+                        values[i] = readValue(rs, i + 1);
+                    }
+                    try {
+                        writer.row(columns, values);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, args.toArray());
+                writer.finish();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private Object readValue(ResultSet rs, int index) throws SQLException {
+        Object value = rs.getObject(index);
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value;
+    }
+
+    private interface RowWriter {
+        void header(String[] columns) throws IOException;
+
+        void row(String[] columns, Object[] values) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out) {
+            try {
+                this.generator = objectMapper.getFactory().createGenerator(out);
+                this.generator.setRootValueSeparator(null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void header(String[] columns) {
+        }
+
+        @Override
+        public void row(String[] columns, Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writeFieldName(columns[i]);
+                valueWriter.writeValue(generator, values[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void header(String[] columns) throws IOException {
+            writeLine(columns);
+        }
+
+        @Override
+        public void row(String[] columns, Object[] values) throws IOException {
+            writeLine(values);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write('\n');
+        }
+
+        private String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.nexdom.nexdomestoquechallenger.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexdom.nexdomestoquechallenger.entity.IdempotencyKey;
+import com.nexdom.nexdomestoquechallenger.repository.IdempotencyKeyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final Map<String, CachedResponse> cache;
+
+    public IdempotencyService(
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${estoque.idempotencia.validade-horas:24}") long retentionHours,
+            @Value("${estoque.idempotencia.cache-tamanho:10000}") int cacheSize
+    ) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.retention = Duration.ofHours(retentionHours);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public <T> T execute(String scope, String key, Object request, Class<T> type, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+
+        String fingerprint = fingerprint(request);
+        Optional<T> stored = findResponse(scope, key, fingerprint, type);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+
+        T response;
+        try {
+            response = transactionTemplate.execute(status -> {
+                T result = action.get();
+                if (!recordAll(scope, Map.of(key, result), Map.of(key, fingerprint)).isEmpty()) {
+                    throw new IllegalStateException("Idempotency-Key " + key + " em uso por outra requisição");
+                }
+                return result;
+            });
+        } catch (RuntimeException e) {
+            return findResponse(scope, key, fingerprint, type).orElseThrow(() -> e);
+        }
+        remember(scope, key, fingerprint, response);
+        return response;
+    }
+
+    public <T> Optional<T> findResponse(String scope, String key, String fingerprint, Class<T> type) {
+        String cacheKey = scope + ":" + key;
+        CachedResponse cached = fromCache(cacheKey);
+        if (cached != null) {
+            checkFingerprint(key, cached.fingerprint(), fingerprint);
+            return Optional.of(type.cast(cached.response()));
+        }
+        Optional<IdempotencyKey> existing = idempotencyKeyRepository.findByScopeAndKey(scope, key);
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+        checkFingerprint(key, existing.get().getFingerprint(), fingerprint);
+        T response = read(existing.get().getResponse(), type);
+        remember(scope, key, existing.get().getFingerprint(), response);
+        return Optional.of(response);
+    }
+
+    public void checkFingerprint(String key, String stored, String fingerprint) {
+        if (stored != null && fingerprint != null && !stored.equals(fingerprint)) {
+            throw new IllegalStateException("Idempotency-Key " + key + " já utilizada com outra requisição");
+        }
+    }
+
+    public String fingerprint(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Não foi possível calcular a impressão da requisição", e);
+        }
+    }
+
+    public Set<String> findRecordedKeys(String scope, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(idempotencyKeyRepository.findKeys(scope, keys));
+    }
+
+    public Set<String> recordAll(String scope, Map<String, ?> responses, Map<String, String> fingerprints) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> conflicts = new LinkedHashSet<>();
+        responses.forEach((key, response) -> {
+            if (idempotencyKeyRepository.record(scope, key, write(response), fingerprints.get(key), now) == 0) {
+                conflicts.add(key);
+            }
+        });
+        return conflicts;
+    }
+
+    public void remember(String scope, String key, String fingerprint, Object response) {
+        synchronized (cache) {
+            cache.put(scope + ":" + key, new CachedResponse(response, fingerprint,
+                    System.currentTimeMillis() + retention.toMillis()));
+        }
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${estoque.idempotencia.limpeza-ms:3600000}")
+    public void purgeExpiredKeys() {
+        idempotencyKeyRepository.deleteExpired(LocalDateTime.now().minus(retention));
+    }
+
+    private CachedResponse fromCache(String cacheKey) {
+        synchronized (cache) {
+            CachedResponse cached = cache.get(cacheKey);
+            if (cached == null) {
+                return null;
+            }
+            if (cached.expiresAt() < System.currentTimeMillis()) {
+                cache.remove(cacheKey);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resposta armazenada inválida para a Idempotency-Key", e);
+        }
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível armazenar a resposta da Idempotency-Key", e);
+        }
+    }
+
+    private record CachedResponse(Object response, String fingerprint, long expiresAt) {
+    }
+}
@@ -0,0 +1,217 @@
+package com.nexdom.nexdomestoquechallenger.service;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.PostedMovement;
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductStockState;
+import com.nexdom.nexdomestoquechallenger.dto.request.MovementCreateRequest;
+import com.nexdom.nexdomestoquechallenger.dto.response.MovementBatchItemResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.MovementResponse;
+import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+import com.nexdom.nexdomestoquechallenger.event.MovementsPostedEvent;
+import com.nexdom.nexdomestoquechallenger.exceptions.BusinessException;
+import com.nexdom.nexdomestoquechallenger.exceptions.ResourceNotFoundException;
+import com.nexdom.nexdomestoquechallenger.repository.MovementBatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Slf4j
+@Service
+public class MovementBatchService {
+
+    private final MovementBatchRepository movementBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Optional<StockLedgerEngine> stockLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int transactionSize;
+    private final int maxBatchSize;
+
+    public MovementBatchService(
+            MovementBatchRepository movementBatchRepository,
+            TransactionTemplate transactionTemplate,
+            Optional<StockLedgerEngine> stockLedger,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${estoque.lote.tamanho-transacao:500}") int transactionSize,
+            @Value("${estoque.lote.tamanho-maximo:10000}") int maxBatchSize
+    ) {
+        this.movementBatchRepository = movementBatchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.stockLedger = stockLedger;
+        this.eventPublisher = eventPublisher;
+        this.transactionSize = transactionSize;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public List<MovementBatchItemResponse> createMovements(List<MovementCreateRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("O lote de movimentações está vazio");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("O lote excede o limite de " + maxBatchSize + " movimentações");
+        }
+
+        if (stockLedger.isPresent()) {
+            return postThroughLedger(stockLedger.get(), requests);
+        }
+
+        List<MovementBatchItemResponse> results = new ArrayList<>(requests.size());
+        for (int start = 0; start < requests.size(); start += transactionSize) {
+            int end = Math.min(start + transactionSize, requests.size());
+            results.addAll(processChunk(requests.subList(start, end), start));
+        }
+        return results;
+    }
+
+    private List<MovementBatchItemResponse> postThroughLedger(StockLedgerEngine ledger,
+                                                              List<MovementCreateRequest> requests) {
+        MovementBatchItemResponse[] results = new MovementBatchItemResponse[requests.size()];
+        List<Integer> positions = new ArrayList<>(requests.size());
+        List<MovementCreateRequest> valid = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validate(requests.get(i));
+            if (error != null) {
+                results[i] = MovementBatchItemResponse.failure(i, error);
+            } else {
+                positions.add(i);
+                valid.add(requests.get(i));
+            }
+        }
+
+        List<CompletableFuture<PostedMovement>> posted = ledger.submitAll(valid);
+        for (int i = 0; i < posted.size(); i++) {
+            int index = positions.get(i);
+            results[index] = posted.get(i).handle((movement, error) -> error == null ?
+                    MovementBatchItemResponse.success(index, MovementResponse.of(movement)) :
+                    MovementBatchItemResponse.failure(index, failureMessage(error))).join();
+        }
+        return List.of(results);
+    }
+
+    private List<MovementBatchItemResponse> processChunk(List<MovementCreateRequest> chunk, int offset) {
+        try {
+            return transactionTemplate.execute(status -> postChunk(chunk, offset));
+        } catch (RuntimeException e) {
+            String message = failureMessage(e);
+            List<MovementBatchItemResponse> failures = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                failures.add(MovementBatchItemResponse.failure(offset + i, message));
+            }
+            return failures;
+        }
+    }
+
+    private String failureMessage(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof BusinessException || cause instanceof ResourceNotFoundException ||
+                cause instanceof IllegalArgumentException || cause instanceof IllegalStateException) {
+            return cause.getMessage();
+        }
+        if (cause instanceof DataIntegrityViolationException) {
+            log.warn("Lote de movimentações rejeitado por restrição de integridade", cause);
+            return "Produto não encontrado para uma das movimentações do lote";
+        }
+        log.error("Erro ao gravar lote de movimentações", cause);
+        return "Erro ao gravar o lote, tente novamente";
+    }
+
+    private List<MovementBatchItemResponse> postChunk(List<MovementCreateRequest> chunk, int offset) {
+        LocalDateTime now = LocalDateTime.now();
+        MovementBatchItemResponse[] results = new MovementBatchItemResponse[chunk.size()];
+
+        TreeSet<Long> productIds = new TreeSet<>();
+        for (MovementCreateRequest request : chunk) {
+            if (request != null && request.getProductId() != null) {
+                productIds.add(request.getProductId());
+            }
+        }
+        Map<Long, ProductStockState> products = movementBatchRepository.lockProducts(productIds);
+
+        Map<Integer, PostedMovement> accepted = new LinkedHashMap<>();
+        Map<Long, Integer> deltas = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            MovementCreateRequest request = chunk.get(i);
+            String error = validate(request);
+            ProductStockState product = error == null ? products.get(request.getProductId()) : null;
+            if (error == null && product == null) {
+                error = "Produto não encontrado com ID: " + request.getProductId();
+            }
+            if (error == null && request.getType() == MovementType.SAIDA &&
+                    product.getStockQuantity() < request.getQuantity()) {
+                error = "Estoque insuficiente para o produto " + product.getName() +
+                        ". Disponível: " + product.getStockQuantity() +
+                        ", Solicitado: " + request.getQuantity();
+            }
+            if (error != null) {
+                results[i] = MovementBatchItemResponse.failure(offset + i, error);
+                continue;
+            }
+
+            PostedMovement movement = PostedMovement.builder()
+                    .productId(product.getId())
+                    .productName(product.getName())
+                    .type(request.getType())
+                    .quantity(request.getQuantity())
+                    .dateTime(now)
+                    .responsibleUser(request.getResponsibleUser())
+                    .reason(request.getReason())
+                    .salePrice(request.getSalePrice() != null ? request.getSalePrice() : product.getSalePrice())
+                    .minimumStock(product.getMinimumStock())
+                    .build();
+            product.setStockQuantity(product.getStockQuantity() + movement.getStockDelta());
+            movement.setResultingStock(product.getStockQuantity());
+            deltas.merge(product.getId(), movement.getStockDelta(), Integer::sum);
+            accepted.put(i, movement);
+        }
+
+        List<PostedMovement> movements = new ArrayList<>(accepted.values());
+        Iterator<Long> ids = movementBatchRepository.nextMovementIds(movements.size()).iterator();
+        movements.forEach(movement -> movement.setId(ids.next()));
+        movementBatchRepository.insertMovements(movements);
+        int[] updated = movementBatchRepository.applyStockDeltas(deltas, now);
+        int position = 0;
+        for (Long productId : deltas.keySet()) {
+            if (updated[position++] == 0) {
+                throw new BusinessException("Estoque insuficiente para o produto " + products.get(productId).getName());
+            }
+        }
+        if (!movements.isEmpty()) {
+            eventPublisher.publishEvent(new MovementsPostedEvent(movements));
+        }
+
+        accepted.forEach((i, movement) ->
+                results[i] = MovementBatchItemResponse.success(offset + i, MovementResponse.of(movement)));
+        return List.of(results);
+    }
+
+    private String validate(MovementCreateRequest request) {
+        if (request == null) {
+            return "Movimentação inválida";
+        }
+        if (request.getProductId() == null) {
+            return "ID do produto é obrigatório";
+        }
+        if (request.getType() == null) {
+            return "Tipo de movimentação é obrigatório";
+        }
+        if (request.getQuantity() == null) {
+            return "Quantidade é obrigatória";
+        }
+        if (request.getQuantity() <= 0) {
+            return "Quantidade deve ser positiva";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,224 @@
+package com.nexdom.nexdomestoquechallenger.service;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.FeedEntry;
+import com.nexdom.nexdomestoquechallenger.dto.response.MovementFeedItemResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.MovementFeedResponse;
+import com.nexdom.nexdomestoquechallenger.event.MovementsPostedEvent;
+import com.nexdom.nexdomestoquechallenger.exceptions.CursorExpiredException;
+import com.nexdom.nexdomestoquechallenger.repository.MovementFeedRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class MovementFeedService {
+
+    private final MovementFeedRepository feedRepository;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxWaitSeconds;
+    private final int retentionDays;
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean dispatchPending = new AtomicBoolean();
+    private final ExecutorService dispatcher;
+
+    public MovementFeedService(
+            MovementFeedRepository feedRepository,
+            @Value("${estoque.feed.limite-padrao:100}") int defaultPageSize,
+            @Value("${estoque.feed.limite-maximo:1000}") int maxPageSize,
+            @Value("${estoque.feed.espera-maxima-segundos:30}") int maxWaitSeconds,
+            @Value("${estoque.feed.retencao-dias:7}") int retentionDays
+    ) {
+        this.feedRepository = feedRepository;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxWaitSeconds = maxWaitSeconds;
+        this.retentionDays = retentionDays;
+        this.dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "estoque-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    @EventListener
+    public void onMovementsPosted(MovementsPostedEvent event) {
+        if (!event.getMovements().isEmpty()) {
+            feedRepository.append(event.getMovements());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMovementsCommitted(MovementsPostedEvent event) {
+        signal();
+    }
+
+    @Scheduled(fixedDelayString = "${estoque.feed.intervalo-verificacao-ms:250}")
+    public void recheckWaiters() {
+        if (!waiters.isEmpty()) {
+            signal();
+        }
+    }
+
+    @Scheduled(cron = "${estoque.feed.limpeza-cron:0 15 2 * * *}")
+    public void purgeExpired() {
+        if (retentionDays > 0) {
+            int removed = feedRepository.deleteRegisteredBefore(LocalDateTime.now().minusDays(retentionDays));
+            log.info("Feed de movimentações: {} registros expirados removidos", removed);
+        }
+    }
+
+    public DeferredResult<ResponseEntity<MovementFeedResponse>> getChanges(String since, Integer limit, Integer wait) {
+        Cursor cursor = decodeCursor(since);
+        int pageSize = pageSize(limit);
+        int waitSeconds = waitSeconds(wait);
+        String resumedFrom = since != null && !since.isBlank() ? since : null;
+        if (resumedFrom != null && purgedUpTo().filter(purged -> purged.isAfter(cursor)).isPresent()) {
+            throw expired(resumedFrom);
+        }
+
+        MovementFeedResponse page = fetch(cursor, pageSize);
+        if (!page.getItens().isEmpty() || waitSeconds == 0) {
+            DeferredResult<ResponseEntity<MovementFeedResponse>> result = new DeferredResult<>();
+            result.setResult(ResponseEntity.ok(page));
+            return result;
+        }
+
+        DeferredResult<ResponseEntity<MovementFeedResponse>> result = new DeferredResult<>(waitSeconds * 1000L);
+        Waiter waiter = new Waiter(cursor, resumedFrom, pageSize, result);
+        result.onTimeout(() -> result.setResult(ResponseEntity.ok(page)));
+        result.onCompletion(() -> waiters.remove(waiter));
+        result.onError(error -> waiters.remove(waiter));
+        waiters.add(waiter);
+        return result;
+    }
+
+    private void signal() {
+        if (!waiters.isEmpty() && dispatchPending.compareAndSet(false, true)) {
+            dispatcher.execute(this::dispatch);
+        }
+    }
+
+    private void dispatch() {
+        dispatchPending.set(false);
+        try {
+            Cursor head = feedRepository.findVisibleHead()
+                    .map(position -> new Cursor(position[0], position[1]))
+                    .orElse(null);
+            if (head == null) {
+                return;
+            }
+            Cursor purged = purgedUpTo().orElse(null);
+            for (Waiter waiter : waiters) {
+                if (waiter.result.isSetOrExpired()) {
+                    waiters.remove(waiter);
+                } else if (purged != null && waiter.since != null && purged.isAfter(waiter.cursor)) {
+                    waiters.remove(waiter);
+                    waiter.result.setErrorResult(expired(waiter.since));
+                } else if (head.isAfter(waiter.cursor)) {
+                    MovementFeedResponse page = fetch(waiter.cursor, waiter.pageSize);
+                    if (!page.getItens().isEmpty()) {
+                        waiters.remove(waiter);
+                        waiter.result.setResult(ResponseEntity.ok(page));
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Falha ao verificar o feed de movimentações: {}", e.getMessage());
+        }
+    }
+
+    private Optional<Cursor> purgedUpTo() {
+        return feedRepository.findPurgedUpTo().map(position -> new Cursor(position[0], position[1]));
+    }
+
+    private CursorExpiredException expired(String since) {
+        return new CursorExpiredException("Cursor " + since + " é anterior às movimentações retidas no feed; " +
+                "reinicie a leitura sem o parâmetro since");
+    }
+
+    private MovementFeedResponse fetch(Cursor cursor, int pageSize) {
+        List<FeedEntry> entries = feedRepository.findAfter(cursor.txId(), cursor.seq(), pageSize);
+        String next = entries.isEmpty() ?
+                encodeCursor(cursor) :
+                encodeCursor(new Cursor(entries.get(entries.size() - 1).txId(), entries.get(entries.size() - 1).seq()));
+        return MovementFeedResponse.builder()
+                .itens(entries.stream().map(MovementFeedItemResponse::of).collect(Collectors.toList()))
+                .cursor(next)
+                .temMais(entries.size() == pageSize)
+                .build();
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("O limite deve ser maior que zero");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    private int waitSeconds(Integer wait) {
+        if (wait == null) {
+            return 0;
+        }
+        if (wait < 0) {
+            throw new IllegalArgumentException("O tempo de espera não pode ser negativo");
+        }
+        return Math.min(wait, maxWaitSeconds);
+    }
+
+    private String encodeCursor(Cursor cursor) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((cursor.txId() + "|" + cursor.seq()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Cursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new Cursor(0, 0);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return new Cursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+    }
+
+    private record Cursor(long txId, long seq) {
+
+        boolean isAfter(Cursor other) {
+            return txId != other.txId ? txId > other.txId : seq > other.seq;
+        }
+    }
+
+    private record Waiter(Cursor cursor, String since, int pageSize, DeferredResult<ResponseEntity<MovementFeedResponse>> result) {
+    }
+}
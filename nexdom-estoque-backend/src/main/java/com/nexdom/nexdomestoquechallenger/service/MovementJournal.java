@@ -0,0 +1,616 @@
+package com.nexdom.nexdomestoquechallenger.service;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.PostedMovement;
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductStockState;
+import com.nexdom.nexdomestoquechallenger.dto.response.MovementResponse;
+import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+import com.nexdom.nexdomestoquechallenger.event.MovementsPostedEvent;
+import com.nexdom.nexdomestoquechallenger.event.ProductUpdatedEvent;
+import com.nexdom.nexdomestoquechallenger.repository.JournalQuarantineRepository;
+import com.nexdom.nexdomestoquechallenger.repository.MovementBatchRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = {"estoque.ledger.habilitado", "estoque.journal.habilitado"}, havingValue = "true")
+public class MovementJournal {
+
+    private static final int MAGIC = 0x4E58444B;
+    private static final int HEADER_SIZE = 64;
+    private static final int WRITE_POSITION_OFFSET = 8;
+    private static final int DRAINED_POSITION_OFFSET = 16;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final String NEGATIVE_STOCK = "Drenagem deixaria estoque negativo";
+
+    private final MovementBatchRepository movementBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdempotencyService idempotencyService;
+    private final JournalQuarantineRepository quarantineRepository;
+    private final int drainBatchSize;
+    private final long drainIntervalMillis;
+    private final int idBlockSize;
+    private final long spaceWaitMillis;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private final BlockingQueue<Append> appends = new LinkedBlockingQueue<>();
+    private final Map<Long, Integer> pendingDeltas = new ConcurrentHashMap<>();
+    private final Map<String, PostedMovement> pendingKeys = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock drainLock = new ReentrantReadWriteLock();
+    private final Deque<Long> idPool = new ArrayDeque<>();
+    private final Object positionLock = new Object();
+    private long writePosition;
+    private long drainedPosition;
+    private volatile boolean running = true;
+    private volatile String stalled;
+    private boolean draining;
+
+    private final Thread writer;
+    private final Thread drainer;
+
+    public MovementJournal(
+            MovementBatchRepository movementBatchRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            IdempotencyService idempotencyService,
+            JournalQuarantineRepository quarantineRepository,
+            @Value("${estoque.journal.arquivo:journal/movimentacoes.journal}") String file,
+            @Value("${estoque.journal.tamanho-mb:64}") int sizeInMegabytes,
+            @Value("${estoque.journal.tamanho-drenagem:1000}") int drainBatchSize,
+            @Value("${estoque.journal.intervalo-drenagem-ms:200}") long drainIntervalMillis,
+            @Value("${estoque.journal.bloco-ids:1000}") int idBlockSize,
+            @Value("${estoque.journal.espera-espaco-ms:5000}") long spaceWaitMillis
+    ) throws IOException {
+        this.movementBatchRepository = movementBatchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.idempotencyService = idempotencyService;
+        this.quarantineRepository = quarantineRepository;
+        this.drainBatchSize = drainBatchSize;
+        this.drainIntervalMillis = drainIntervalMillis;
+        this.idBlockSize = idBlockSize;
+        this.spaceWaitMillis = spaceWaitMillis;
+        this.capacity = sizeInMegabytes * 1024 * 1024;
+
+        Path path = Path.of(file).toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+
+        if (buffer.getInt(0) != MAGIC) {
+            buffer.putInt(0, MAGIC);
+            writeHeader(HEADER_SIZE, HEADER_SIZE);
+            buffer.force();
+        }
+        this.writePosition = buffer.getLong(WRITE_POSITION_OFFSET);
+        this.drainedPosition = buffer.getLong(DRAINED_POSITION_OFFSET);
+
+        int pending = scan();
+        if (pending > 0) {
+            log.info("Journal com {} movimentações pendentes de drenagem", pending);
+        }
+
+        this.writer = new Thread(this::writeLoop, "estoque-journal-writer");
+        this.drainer = new Thread(this::drainLoop, "estoque-journal-drainer");
+        writer.setDaemon(true);
+        drainer.setDaemon(true);
+        writer.start();
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public synchronized void startDraining() {
+        if (draining) {
+            return;
+        }
+        while (drainOnce()) {
+            // reaplica as entradas pendentes antes de liberar o drenador em segundo plano
+        }
+        draining = true;
+        drainer.start();
+    }
+
+    public Append append(List<PostedMovement> movements) {
+        String failure = stalled;
+        if (failure != null) {
+            throw new IllegalStateException("Journal de movimentações retido, drenagem falhando: " + failure);
+        }
+        assignIds(movements);
+        List<byte[]> records = new ArrayList<>(movements.size());
+        movements.forEach(movement -> records.add(encode(movement)));
+        Append append = new Append(movements, records);
+        appends.add(append);
+        return append;
+    }
+
+    public long getSpaceWaitMillis() {
+        return spaceWaitMillis;
+    }
+
+    public Map<Long, ProductStockState> loadProducts(Collection<Long> productIds) {
+        drainLock.readLock().lock();
+        try {
+            Map<Long, ProductStockState> products = movementBatchRepository.findProducts(productIds);
+            products.forEach((id, state) ->
+                    state.setStockQuantity(state.getStockQuantity() + pendingDeltas.getOrDefault(id, 0)));
+            return products;
+        } finally {
+            drainLock.readLock().unlock();
+        }
+    }
+
+    public Map<String, PostedMovement> findUsedKeys(Collection<String> keys) {
+        drainLock.readLock().lock();
+        try {
+            Map<String, PostedMovement> used = new HashMap<>();
+            keys.forEach(key -> {
+                if (pendingKeys.containsKey(key)) {
+                    used.put(key, pendingKeys.get(key));
+                }
+            });
+            idempotencyService.findRecordedKeys(MovementService.IDEMPOTENCY_SCOPE, keys)
+                    .forEach(key -> used.putIfAbsent(key, null));
+            return used;
+        } finally {
+            drainLock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        running = false;
+        writer.interrupt();
+        drainer.interrupt();
+        try {
+            writer.join(5000);
+            drainer.join(5000);
+            while (drainOnce()) {
+                // drena o que ficou pendente antes de fechar o arquivo
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Journal encerrado com entradas pendentes, serão reaplicadas na inicialização", e);
+        }
+        buffer.force();
+        channel.close();
+    }
+
+    private synchronized void assignIds(List<PostedMovement> movements) {
+        if (idPool.size() < movements.size()) {
+            idPool.addAll(movementBatchRepository.nextMovementIds(Math.max(idBlockSize, movements.size())));
+        }
+        movements.forEach(movement -> movement.setId(idPool.poll()));
+    }
+
+    private int scan() {
+        long position = drainedPosition;
+        int pending = 0;
+        while (position < writePosition) {
+            Record record = read(position);
+            if (record == null) {
+                log.warn("Journal truncado na posição {} (registro incompleto)", position);
+                break;
+            }
+            track(record.movement());
+            position = record.end();
+            pending++;
+        }
+        if (position != writePosition) {
+            writePosition = position;
+            writeHeader(writePosition, drainedPosition);
+            buffer.force();
+        }
+        return pending;
+    }
+
+    private void writeLoop() {
+        List<Append> batch = new ArrayList<>();
+        while (running) {
+            try {
+                batch.add(appends.take());
+                appends.drainTo(batch);
+                batch.removeIf(append -> !append.claim());
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                write(batch);
+                batch.forEach(append -> append.future().complete(null));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(append -> append.future().completeExceptionally(e));
+                break;
+            } catch (RuntimeException e) {
+                log.error("Falha ao gravar no journal de movimentações", e);
+                batch.forEach(append -> append.future().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+        IllegalStateException closed = new IllegalStateException("Journal de movimentações encerrado");
+        for (Append append = appends.poll(); append != null; append = appends.poll()) {
+            append.future().completeExceptionally(closed);
+        }
+    }
+
+    private void write(List<Append> batch) throws InterruptedException {
+        int total = 0;
+        for (Append append : batch) {
+            for (byte[] record : append.records()) {
+                total += record.length;
+            }
+        }
+        if (total > capacity - HEADER_SIZE) {
+            throw new IllegalStateException("Lote maior que a capacidade do journal");
+        }
+
+        long start;
+        long deadline = System.currentTimeMillis() + spaceWaitMillis;
+        synchronized (positionLock) {
+            while (writePosition + total > capacity) {
+                if (drainedPosition == writePosition) {
+                    writePosition = HEADER_SIZE;
+                    drainedPosition = HEADER_SIZE;
+                    writeHeader(writePosition, drainedPosition);
+                } else {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new IllegalStateException("Journal de movimentações cheio, drenagem atrasada");
+                    }
+                    positionLock.wait(Math.min(remaining, drainIntervalMillis));
+                }
+            }
+            start = writePosition;
+        }
+
+        long position = start;
+        for (Append append : batch) {
+            for (byte[] record : append.records()) {
+                buffer.put((int) position, record);
+                position += record.length;
+            }
+            append.movements().forEach(this::track);
+        }
+
+        synchronized (positionLock) {
+            writePosition = position;
+            writeHeader(writePosition, drainedPosition);
+        }
+        buffer.force();
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                if (!drainOnce()) {
+                    Thread.sleep(drainIntervalMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                stalled = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                log.error("Falha ao drenar o journal de movimentações, {} produtos com deltas pendentes; novas " +
+                        "gravações recusadas até a próxima drenagem bem-sucedida", pendingDeltas.size(), e);
+                try {
+                    Thread.sleep(drainIntervalMillis * 10);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean drainOnce() {
+        long from;
+        long to;
+        synchronized (positionLock) {
+            from = drainedPosition;
+            to = writePosition;
+        }
+        if (from == to) {
+            stalled = null;
+            return false;
+        }
+
+        List<PostedMovement> movements = new ArrayList<>(drainBatchSize);
+        long position = from;
+        while (position < to && movements.size() < drainBatchSize) {
+            Record record = read(position);
+            if (record == null) {
+                throw new IllegalStateException("Registro corrompido no journal na posição " + position);
+            }
+            movements.add(record.movement());
+            position = record.end();
+        }
+
+        Set<Long> quarantined = new HashSet<>();
+        drainLock.writeLock().lock();
+        try {
+            while (true) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> apply(movements, quarantined));
+                    break;
+                } catch (StockGuardRejection rejection) {
+                    quarantined.addAll(rejection.productIds);
+                }
+            }
+            movements.forEach(movement -> {
+                pendingDeltas.computeIfPresent(movement.getProductId(),
+                        (id, delta) -> delta - movement.getStockDelta() == 0 ? null : delta - movement.getStockDelta());
+                if (movement.getIdempotencyKey() != null) {
+                    pendingKeys.remove(movement.getIdempotencyKey());
+                }
+            });
+        } finally {
+            drainLock.writeLock().unlock();
+        }
+
+        synchronized (positionLock) {
+            drainedPosition = position;
+            writeHeader(writePosition, drainedPosition);
+            positionLock.notifyAll();
+        }
+        buffer.force();
+        stalled = null;
+        if (!quarantined.isEmpty()) {
+            log.error("Movimentações do journal dos produtos {} movidas para movimentacao_quarentena: {}",
+                    quarantined, NEGATIVE_STOCK);
+            quarantined.forEach(productId -> eventPublisher.publishEvent(new ProductUpdatedEvent(productId)));
+        }
+        return true;
+    }
+
+    private void track(PostedMovement movement) {
+        pendingDeltas.merge(movement.getProductId(), movement.getStockDelta(), Integer::sum);
+        if (movement.getIdempotencyKey() != null) {
+            pendingKeys.put(movement.getIdempotencyKey(), movement);
+        }
+    }
+
+    private void apply(List<PostedMovement> movements, Set<Long> quarantined) {
+        Set<Long> existing = movementBatchRepository.findExistingMovementIds(
+                movements.stream().map(PostedMovement::getId).toList());
+        List<PostedMovement> fresh = new ArrayList<>();
+        List<PostedMovement> held = new ArrayList<>();
+        for (PostedMovement movement : movements) {
+            if (existing.contains(movement.getId())) {
+                continue;
+            }
+            (quarantined.contains(movement.getProductId()) ? held : fresh).add(movement);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!held.isEmpty()) {
+            quarantineRepository.insert(held, NEGATIVE_STOCK, now);
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> deltas = new LinkedHashMap<>();
+        fresh.forEach(movement -> deltas.merge(movement.getProductId(), movement.getStockDelta(), Integer::sum));
+        movementBatchRepository.insertMovements(fresh);
+        int[] updated = movementBatchRepository.applyStockDeltas(deltas, now);
+        Set<Long> rejected = new HashSet<>();
+        int i = 0;
+        for (Long productId : deltas.keySet()) {
+            if (updated[i++] == 0) {
+                rejected.add(productId);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            throw new StockGuardRejection(rejected);
+        }
+        Map<String, MovementResponse> responses = new LinkedHashMap<>();
+        Map<String, String> fingerprints = new HashMap<>();
+        fresh.forEach(movement -> {
+            if (movement.getIdempotencyKey() != null) {
+                responses.put(movement.getIdempotencyKey(), MovementResponse.of(movement));
+                fingerprints.put(movement.getIdempotencyKey(), movement.getRequestFingerprint());
+            }
+        });
+        Set<String> conflicts = idempotencyService.recordAll(MovementService.IDEMPOTENCY_SCOPE, responses,
+                fingerprints);
+        if (!conflicts.isEmpty()) {
+            log.warn("Idempotency-Keys já registradas ao drenar o journal: {}", conflicts);
+        }
+        eventPublisher.publishEvent(new MovementsPostedEvent(fresh));
+    }
+
+    private void writeHeader(long write, long drained) {
+        buffer.putLong(WRITE_POSITION_OFFSET, write);
+        buffer.putLong(DRAINED_POSITION_OFFSET, drained);
+    }
+
+    private byte[] encode(PostedMovement movement) {
+        byte[] productName = bytes(movement.getProductName());
+        byte[] responsibleUser = bytes(movement.getResponsibleUser());
+        byte[] reason = bytes(movement.getReason());
+        byte[] idempotencyKey = bytes(movement.getIdempotencyKey());
+        byte[] fingerprint = bytes(movement.getRequestFingerprint());
+        int payloadSize = 8 + 8 + 1 + 4 + 8 + 4 + 8 + 4 + 4
+                + 4 + length(productName) + 4 + length(responsibleUser) + 4 + length(reason)
+                + 4 + length(idempotencyKey) + 4 + length(fingerprint);
+
+        ByteBuffer payload = ByteBuffer.allocate(payloadSize);
+        payload.putLong(movement.getId());
+        payload.putLong(movement.getProductId());
+        payload.put((byte) movement.getType().ordinal());
+        payload.putInt(movement.getQuantity());
+        payload.putLong(movement.getDateTime().toEpochSecond(ZoneOffset.UTC));
+        payload.putInt(movement.getDateTime().getNano());
+        payload.putDouble(movement.getSalePrice() != null ? movement.getSalePrice() : Double.NaN);
+        payload.putInt(movement.getResultingStock());
+        payload.putInt(movement.getMinimumStock() != null ? movement.getMinimumStock() : Integer.MIN_VALUE);
+        putString(payload, productName);
+        putString(payload, responsibleUser);
+        putString(payload, reason);
+        putString(payload, idempotencyKey);
+        putString(payload, fingerprint);
+
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payloadSize);
+        record.putInt(payloadSize);
+        record.putInt((int) crc.getValue());
+        record.put(payload.array());
+        return record.array();
+    }
+
+    private Record read(long position) {
+        if (position + RECORD_HEADER_SIZE > capacity) {
+            return null;
+        }
+        int payloadSize = buffer.getInt((int) position);
+        int checksum = buffer.getInt((int) position + 4);
+        if (payloadSize <= 0 || position + RECORD_HEADER_SIZE + payloadSize > capacity) {
+            return null;
+        }
+        byte[] bytes = new byte[payloadSize];
+        buffer.get((int) position + RECORD_HEADER_SIZE, bytes);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+
+        ByteBuffer payload = ByteBuffer.wrap(bytes);
+        long id = payload.getLong();
+        long productId = payload.getLong();
+        MovementType type = MovementType.values()[payload.get()];
+        int quantity = payload.getInt();
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(payload.getLong(), payload.getInt(), ZoneOffset.UTC);
+        double salePrice = payload.getDouble();
+        int resultingStock = payload.getInt();
+        int minimumStock = payload.getInt();
+        PostedMovement movement = PostedMovement.builder()
+                .id(id)
+                .productId(productId)
+                .type(type)
+                .quantity(quantity)
+                .dateTime(dateTime)
+                .salePrice(Double.isNaN(salePrice) ? null : salePrice)
+                .resultingStock(resultingStock)
+                .minimumStock(minimumStock == Integer.MIN_VALUE ? null : minimumStock)
+                .productName(getString(payload))
+                .responsibleUser(getString(payload))
+                .reason(getString(payload))
+                .idempotencyKey(getString(payload))
+                .requestFingerprint(payload.hasRemaining() ? getString(payload) : null)
+                .build();
+        return new Record(movement, position + RECORD_HEADER_SIZE + payloadSize);
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static void putString(ByteBuffer payload, byte[] value) {
+        if (value == null) {
+            payload.putInt(-1);
+        } else {
+            payload.putInt(value.length);
+            payload.put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer payload) {
+        int size = payload.getInt();
+        if (size < 0) {
+            return null;
+        }
+        byte[] value = new byte[size];
+        payload.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    public static final class Append {
+        private final List<PostedMovement> movements;
+        private final List<byte[]> records;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Append(List<PostedMovement> movements, List<byte[]> records) {
+            this.movements = movements;
+            this.records = records;
+        }
+
+        public CompletableFuture<Void> future() {
+            return future;
+        }
+
+        public boolean cancel() {
+            if (!claimed.compareAndSet(false, true)) {
+                return false;
+            }
+            future.completeExceptionally(new IllegalStateException("Gravação no journal cancelada por tempo de espera"));
+            return true;
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        private List<PostedMovement> movements() {
+            return movements;
+        }
+
+        private List<byte[]> records() {
+            return records;
+        }
+    }
+
+    private static final class StockGuardRejection extends RuntimeException {
+        private final Set<Long> productIds;
+
+        private StockGuardRejection(Set<Long> productIds) {
+            super(NEGATIVE_STOCK + " para os produtos " + productIds);
+            this.productIds = productIds;
+        }
+    }
+
+    private record Record(PostedMovement movement, long end) {
+    }
+}
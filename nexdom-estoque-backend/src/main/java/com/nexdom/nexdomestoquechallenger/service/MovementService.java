@@ -1,92 +1,197 @@
 package com.nexdom.nexdomestoquechallenger.service;
 
+import com.nexdom.nexdomestoquechallenger.dto.projection.MovementRow;
+import com.nexdom.nexdomestoquechallenger.dto.projection.PostedMovement;
+import com.nexdom.nexdomestoquechallenger.dto.projection.StockPosting;
 import com.nexdom.nexdomestoquechallenger.dto.request.MovementCreateRequest;
+import com.nexdom.nexdomestoquechallenger.dto.response.MovementPageResponse;
 import com.nexdom.nexdomestoquechallenger.dto.response.MovementResponse;
-import com.nexdom.nexdomestoquechallenger.entity.Movement;
 import com.nexdom.nexdomestoquechallenger.entity.Product;
 import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+import com.nexdom.nexdomestoquechallenger.event.MovementsPostedEvent;
 import com.nexdom.nexdomestoquechallenger.exceptions.BusinessException;
 import com.nexdom.nexdomestoquechallenger.repository.MovementRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class MovementService {
 
+    public static final String IDEMPOTENCY_SCOPE = "movimentacao";
+
     private final MovementRepository movementRepository;
     private final ProductService productService;
+    private final TransactionTemplate transactionTemplate;
+    private final Optional<StockLedgerEngine> stockLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdempotencyService idempotencyService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public MovementService(
+            MovementRepository movementRepository,
+            ProductService productService,
+            TransactionTemplate transactionTemplate,
+            Optional<StockLedgerEngine> stockLedger,
+            ApplicationEventPublisher eventPublisher,
+            IdempotencyService idempotencyService,
+            @Value("${estoque.movimentacoes.limite-padrao:50}") int defaultPageSize,
+            @Value("${estoque.movimentacoes.limite-maximo:500}") int maxPageSize
+    ) {
+        this.movementRepository = movementRepository;
+        this.productService = productService;
+        this.transactionTemplate = transactionTemplate;
+        this.stockLedger = stockLedger;
+        this.eventPublisher = eventPublisher;
+        this.idempotencyService = idempotencyService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
 
-    @Transactional
-    public MovementResponse createMovement(MovementCreateRequest request) {
-        Product product = productService.findById(request.getProductId());
-
-        validateMovement(request, product);
-
-        Movement movement = new Movement();
-        movement.setProduct(product);
-        movement.setType(request.getType());
-        movement.setQuantity(request.getQuantity());
-        movement.setReason(request.getReason());
-        movement.setResponsibleUser(request.getResponsibleUser());
-        movement.setSalePrice(determineSalePrice(request, product));
-        movement.setCreatedAt(LocalDateTime.now());
-        movement.setUpdatedAt(LocalDateTime.now());
+    public MovementResponse createMovement(MovementCreateRequest request, String idempotencyKey) {
+        if (stockLedger.isEmpty()) {
+            return idempotencyService.execute(IDEMPOTENCY_SCOPE, idempotencyKey, request, MovementResponse.class,
+                    () -> {
+                        PostedMovement movement = transactionTemplate.execute(status -> postMovement(request));
+                        return MovementResponse.of(movement);
+                    });
+        }
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return MovementResponse.of(stockLedger.get().submit(request, null));
+        }
 
-        updateProductStock(product, request.getType(), request.getQuantity());
+        String fingerprint = idempotencyService.fingerprint(request);
+        Optional<MovementResponse> stored = idempotencyService.findResponse(IDEMPOTENCY_SCOPE, idempotencyKey,
+                fingerprint, MovementResponse.class);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+        MovementResponse response;
+        try {
+            response = MovementResponse.of(stockLedger.get().submit(request, idempotencyKey, fingerprint));
+        } catch (IllegalStateException e) {
+            return idempotencyService.findResponse(IDEMPOTENCY_SCOPE, idempotencyKey, fingerprint,
+                    MovementResponse.class).orElseThrow(() -> e);
+        }
+        idempotencyService.remember(IDEMPOTENCY_SCOPE, idempotencyKey, fingerprint, response);
+        return response;
+    }
 
-        Movement savedMovement = movementRepository.save(movement);
-        return MovementResponse.of(savedMovement);
+    private PostedMovement postMovement(MovementCreateRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        int delta = request.getType() == MovementType.ENTRADA ?
+                request.getQuantity() :
+                -request.getQuantity();
+
+        StockPosting posting = movementRepository.postMovement(
+                        request.getProductId(),
+                        delta,
+                        request.getType().name(),
+                        request.getQuantity(),
+                        request.getResponsibleUser(),
+                        request.getReason(),
+                        request.getSalePrice(),
+                        now)
+                .orElseThrow(() -> rejectMovement(request));
+
+        PostedMovement movement = PostedMovement.builder()
+                .id(posting.getMovementId())
+                .productId(request.getProductId())
+                .productName(posting.getProductName())
+                .type(request.getType())
+                .quantity(request.getQuantity())
+                .dateTime(now)
+                .responsibleUser(request.getResponsibleUser())
+                .reason(request.getReason())
+                .salePrice(posting.getSalePrice())
+                .resultingStock(posting.getStockQuantity())
+                .minimumStock(posting.getMinimumStock())
+                .build();
+        eventPublisher.publishEvent(new MovementsPostedEvent(List.of(movement)));
+        return movement;
     }
 
-    public List<MovementResponse> getMovementsByProduct(Long productId) {
-        return movementRepository.findByProductId(productId).stream()
-                .map(MovementResponse::of)
-                .collect(Collectors.toList());
+    public MovementPageResponse getMovementsByProduct(Long productId, LocalDateTime from, LocalDateTime to,
+                                                      String cursor, Integer limit) {
+        Cursor after = decodeCursor(cursor, from);
+        int pageSize = pageSize(limit);
+        List<MovementRow> movements = movementRepository.findPageByProductId(productId, lowerBound(from), upperBound(to),
+                after.dateTime(), after.id(), PageRequest.of(0, pageSize));
+        return toPage(movements, pageSize);
     }
 
-    public List<MovementResponse> getAllMovements() {
-        return movementRepository.findAll().stream()
-                .map(MovementResponse::of)
-                .collect(Collectors.toList());
+    public MovementPageResponse getAllMovements(LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+        Cursor after = decodeCursor(cursor, from);
+        int pageSize = pageSize(limit);
+        List<MovementRow> movements = movementRepository.findPage(lowerBound(from), upperBound(to),
+                after.dateTime(), after.id(), PageRequest.of(0, pageSize));
+        return toPage(movements, pageSize);
     }
 
-    private void validateMovement(MovementCreateRequest request, Product product) {
-        if (request.getType() == MovementType.SAIDA &&
-                product.getStockQuantity() < request.getQuantity()) {
-            throw new BusinessException(
-                    "Estoque insuficiente para o produto " + product.getName() +
-                            ". Disponível: " + product.getStockQuantity() +
-                            ", Solicitado: " + request.getQuantity()
-            );
+    private MovementPageResponse toPage(List<MovementRow> movements, int pageSize) {
+        String next = null;
+        if (movements.size() == pageSize) {
+            MovementRow last = movements.get(movements.size() - 1);
+            next = encodeCursor(last.dateTime(), last.id());
         }
+        return MovementPageResponse.builder()
+                .itens(movements.stream().map(MovementResponse::of).collect(Collectors.toList()))
+                .proximo(next)
+                .build();
     }
 
-    private Double determineSalePrice(MovementCreateRequest request, Product product) {
-        return request.getSalePrice() != null ?
-                request.getSalePrice() :
-                product.getSalePrice();
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("O limite deve ser maior que zero");
+        }
+        return Math.min(limit, maxPageSize);
     }
 
-    private void updateProductStock(Product product, MovementType type, Integer quantity) {
-        int newQuantity = type == MovementType.ENTRADA ?
-                product.getStockQuantity() + quantity :
-                product.getStockQuantity() - quantity;
+    private String encodeCursor(LocalDateTime dateTime, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((dateTime + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
 
-        if (type == MovementType.SAIDA &&
-                product.getMinimumStock() != null &&
-                newQuantity < product.getMinimumStock()) {
-            System.out.println("ALERTA: Estoque do produto " + product.getName() +
-                    " está abaixo do mínimo (" + product.getMinimumStock() + ")");
+    private Cursor decodeCursor(String cursor, LocalDateTime from) {
+        if (cursor == null || cursor.isBlank()) {
+            return new Cursor(lowerBound(from), Long.MIN_VALUE);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return new Cursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
         }
+    }
+
+    private LocalDateTime lowerBound(LocalDateTime from) {
+        return from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0);
+    }
 
-        product.setStockQuantity(newQuantity);
-        productService.updateProduct(product);
+    private LocalDateTime upperBound(LocalDateTime to) {
+        return to != null ? to : LocalDateTime.now().plusYears(100);
+    }
+
+    private BusinessException rejectMovement(MovementCreateRequest request) {
+        Product product = productService.findById(request.getProductId());
+        return new BusinessException(
+                "Estoque insuficiente para o produto " + product.getName() +
+                        ". Disponível: " + product.getStockQuantity() +
+                        ", Solicitado: " + request.getQuantity()
+        );
     }
 
     private Integer getTotalSaidas(Long productId) {
@@ -96,4 +201,7 @@ public class MovementService {
     private Integer getVendas(Long productId) {
         return movementRepository.sumSoldQuantityByProduct(productId);
     }
-}
\ No newline at end of file
+
+    private record Cursor(LocalDateTime dateTime, Long id) {
+    }
+}
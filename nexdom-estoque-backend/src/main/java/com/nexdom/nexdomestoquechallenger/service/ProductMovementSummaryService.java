@@ -0,0 +1,128 @@
+package com.nexdom.nexdomestoquechallenger.service;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.PostedMovement;
+import com.nexdom.nexdomestoquechallenger.entity.ProductMovementSummary;
+import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+import com.nexdom.nexdomestoquechallenger.event.MovementsPostedEvent;
+import com.nexdom.nexdomestoquechallenger.repository.MovementBatchRepository;
+import com.nexdom.nexdomestoquechallenger.repository.MovementRepository;
+import com.nexdom.nexdomestoquechallenger.repository.ProductMovementSummaryRepository;
+import com.nexdom.nexdomestoquechallenger.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ProductMovementSummaryService {
+
+    private static final String SALE_REASON = "VENDA";
+
+    private final ProductMovementSummaryRepository summaryRepository;
+    private final MovementBatchRepository movementBatchRepository;
+    private final MovementRepository movementRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogVersionService catalogVersions;
+    private final int rebuildChunkSize;
+
+    public ProductMovementSummaryService(
+            ProductMovementSummaryRepository summaryRepository,
+            MovementBatchRepository movementBatchRepository,
+            MovementRepository movementRepository,
+            ProductRepository productRepository,
+            TransactionTemplate transactionTemplate,
+            CatalogVersionService catalogVersions,
+            @Value("${estoque.resumos.tamanho-lote-recalculo:1000}") int rebuildChunkSize
+    ) {
+        this.summaryRepository = summaryRepository;
+        this.movementBatchRepository = movementBatchRepository;
+        this.movementRepository = movementRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.catalogVersions = catalogVersions;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    @EventListener
+    public void onMovementsPosted(MovementsPostedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ProductMovementSummary> increments = new LinkedHashMap<>();
+        for (PostedMovement movement : event.getMovements()) {
+            if (StockReconciliationService.ADJUSTMENT_REASON.equals(movement.getReason())) {
+                continue;
+            }
+            ProductMovementSummary summary = increments.computeIfAbsent(movement.getProductId(),
+                    id -> new ProductMovementSummary(id, 0L, 0L, 0L, 0.0, now));
+            if (movement.getType() == MovementType.ENTRADA) {
+                summary.setTotalEntries(summary.getTotalEntries() + movement.getQuantity());
+            } else {
+                summary.setTotalExits(summary.getTotalExits() + movement.getQuantity());
+                if (SALE_REASON.equals(movement.getReason())) {
+                    double price = movement.getSalePrice() != null ? movement.getSalePrice() : 0.0;
+                    summary.setTotalSold(summary.getTotalSold() + movement.getQuantity());
+                    summary.setSalesRevenue(summary.getSalesRevenue() + movement.getQuantity() * price);
+                }
+            }
+        }
+        if (!increments.isEmpty()) {
+            movementBatchRepository.incrementSummaries(increments.values());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, ProductMovementSummary> findByProductIds(Collection<Long> productIds) {
+        return summaryRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(ProductMovementSummary::getProductId, Function.identity()));
+    }
+
+    public int rebuild() {
+        List<Long> productIds = productRepository.findAllIds();
+        for (int from = 0; from < productIds.size(); from += rebuildChunkSize) {
+            List<Long> chunk = productIds.subList(from, Math.min(from + rebuildChunkSize, productIds.size()));
+            transactionTemplate.executeWithoutResult(status -> recalculate(chunk));
+        }
+        catalogVersions.bump(CatalogVersionService.PRODUCTS);
+        log.info("Resumo de movimentações recalculado para {} produtos", productIds.size());
+        return productIds.size();
+    }
+
+    private void recalculate(List<Long> productIds) {
+        movementBatchRepository.lockProducts(productIds);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ProductMovementSummary> summaries = new LinkedHashMap<>();
+        productIds.forEach(id -> summaries.put(id, new ProductMovementSummary(id, 0L, 0L, 0L, 0.0, now)));
+
+        for (Object[] row : movementRepository.sumQuantityByProductAndTypeIn(productIds, MovementType.ENTRADA)) {
+            summaries.get((Long) row[0]).setTotalEntries(((Number) row[1]).longValue());
+        }
+        for (Object[] row : movementRepository.sumQuantityByProductAndTypeIn(productIds, MovementType.SAIDA)) {
+            summaries.get((Long) row[0]).setTotalExits(((Number) row[1]).longValue());
+        }
+        for (Object[] row : movementRepository.sumSoldQuantityByProductIn(productIds)) {
+            ProductMovementSummary summary = summaries.get((Long) row[0]);
+            summary.setTotalSold(((Number) row[1]).longValue());
+            summary.setSalesRevenue(((Number) row[2]).doubleValue());
+        }
+        movementBatchRepository.replaceSummaries(summaries.values());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (summaryRepository.count() == 0) {
+            rebuild();
+        }
+    }
+}
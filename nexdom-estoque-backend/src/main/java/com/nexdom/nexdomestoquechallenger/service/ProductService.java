@@ -1,16 +1,28 @@
 package com.nexdom.nexdomestoquechallenger.service;
 
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductRow;
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductSearchPage;
 import com.nexdom.nexdomestoquechallenger.dto.request.ProductCreateRequest;
+import com.nexdom.nexdomestoquechallenger.dto.request.ProductSearchRequest;
+import com.nexdom.nexdomestoquechallenger.dto.response.CategoryCreateResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.CategoryResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.FornecedorCreateResponse;
 import com.nexdom.nexdomestoquechallenger.dto.response.ProductCreateResponse;
 import com.nexdom.nexdomestoquechallenger.dto.response.ProductProfitResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.ProductSearchResponse;
 import com.nexdom.nexdomestoquechallenger.dto.response.ProductStockResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.SupplierResponse;
 import com.nexdom.nexdomestoquechallenger.entity.Category;
 import com.nexdom.nexdomestoquechallenger.entity.Product;
+import com.nexdom.nexdomestoquechallenger.entity.ProductMovementSummary;
+import com.nexdom.nexdomestoquechallenger.entity.ProductValuation;
 import com.nexdom.nexdomestoquechallenger.entity.Supplier;
-import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+import com.nexdom.nexdomestoquechallenger.event.ProductUpdatedEvent;
 import com.nexdom.nexdomestoquechallenger.exceptions.ResourceNotFoundException;
-import com.nexdom.nexdomestoquechallenger.repository.MovementRepository;
 import com.nexdom.nexdomestoquechallenger.repository.ProductRepository;
+import com.nexdom.nexdomestoquechallenger.repository.ProductSearchRepository;
+import com.nexdom.nexdomestoquechallenger.search.CatalogSearchIndex;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -18,6 +30,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,21 +40,33 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final CategoryService categoryService;
     private final SupplierService supplierService;
-    private final MovementRepository movementRepository;
-
+    private final ProductMovementSummaryService summaryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogVersionService catalogVersions;
+    private final CatalogSearchIndex searchIndex;
+    private final ProductSearchRepository productSearchRepository;
+    private final ProductValuationService valuationService;
 
     public ProductService(
             ProductRepository productRepository,
             CategoryService categoryService,
             SupplierService supplierService,
-            MovementRepository movementRepository
-
+            ProductMovementSummaryService summaryService,
+            ApplicationEventPublisher eventPublisher,
+            CatalogVersionService catalogVersions,
+            CatalogSearchIndex searchIndex,
+            ProductSearchRepository productSearchRepository,
+            ProductValuationService valuationService
     ) {
         this.productRepository = productRepository;
         this.categoryService = categoryService;
         this.supplierService = supplierService;
-        this.movementRepository = movementRepository;
-
+        this.summaryService = summaryService;
+        this.eventPublisher = eventPublisher;
+        this.catalogVersions = catalogVersions;
+        this.searchIndex = searchIndex;
+        this.productSearchRepository = productSearchRepository;
+        this.valuationService = valuationService;
     }
 
     @Transactional
@@ -57,7 +83,11 @@ public class ProductService {
             product.setUpdatedAt(LocalDateTime.now());
 
             Product savedProduct = productRepository.save(product);
-            return ProductCreateResponse.of(savedProduct);
+            valuationService.adjustStock(savedProduct.getId(), savedProduct.getStockQuantity(),
+                    savedProduct.getSupplierPrice());
+            catalogVersions.bump(CatalogVersionService.PRODUCTS);
+            reindex(savedProduct);
+            return toResponse(savedProduct);
         } catch (IllegalArgumentException e) {
             throw e;
         } catch (Exception e) {
@@ -66,11 +96,12 @@ public class ProductService {
     }
 
     public List<ProductProfitResponse> getProductsProfitByCategory(String categoryName) {
-        return productRepository.findByCategoryName(categoryName).stream()
-                .map(product -> {
-                    Integer vendas = movementRepository.sumSoldQuantityByProduct(product.getId());
-                    return ProductProfitResponse.of(product, vendas != null ? vendas : 0);
-                })
+        List<ProductRow> products = productRepository.findRowsByCategoryName(categoryName);
+        Map<Long, ProductMovementSummary> summaries = summariesOf(products);
+        Map<Long, ProductValuation> valuations = valuationsOf(products);
+        return products.stream()
+                .map(product -> ProductProfitResponse.of(product, totalSold(summaries.get(product.id())),
+                        valuations.get(product.id())))
                 .collect(Collectors.toList());
     }
 
@@ -79,17 +110,21 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado com ID: " + id));
     }
 
+    public Optional<LocalDateTime> findUpdatedAt(Long id) {
+        return productRepository.findUpdatedAtById(id);
+    }
+
     public ProductCreateResponse findProductResponseById(Long id) {
-        return ProductCreateResponse.of(findById(id));
+        return productRepository.findDetailById(id)
+                .map(ProductCreateResponse::of)
+                .orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado com ID: " + id));
     }
 
     public List<ProductStockResponse> getProductsWithMovementsByCategory(String categoryName) {
-        return productRepository.findByCategoryName(categoryName).stream()
-                .map(product -> {
-                    Integer totalSaidas = movementRepository
-                            .sumQuantityByProductAndType(product.getId(), MovementType.SAIDA);
-                    return ProductStockResponse.of(product, totalSaidas != null ? totalSaidas : 0);
-                })
+        List<ProductRow> products = productRepository.findRowsByCategoryName(categoryName);
+        Map<Long, ProductMovementSummary> summaries = summariesOf(products);
+        return products.stream()
+                .map(product -> ProductStockResponse.of(product, totalExits(summaries.get(product.id()))))
                 .collect(Collectors.toList());
     }
 
@@ -101,7 +136,13 @@ public class ProductService {
         product.setUpdatedAt(LocalDateTime.now());
 
         Product updatedProduct = productRepository.save(product);
-        return ProductCreateResponse.of(updatedProduct);
+        catalogVersions.bump(CatalogVersionService.PRODUCTS);
+        reindex(updatedProduct);
+        if (request.getStockQuantity() != null) {
+            valuationService.adjustStock(id, updatedProduct.getStockQuantity(), updatedProduct.getSupplierPrice());
+        }
+        eventPublisher.publishEvent(new ProductUpdatedEvent(id));
+        return toResponse(updatedProduct);
     }
 
     @Transactional
@@ -110,22 +151,98 @@ public class ProductService {
         product.setActive(false);
         product.setUpdatedAt(LocalDateTime.now());
         productRepository.save(product);
+        catalogVersions.bump(CatalogVersionService.PRODUCTS);
+        reindex(product);
     }
 
     public Page<ProductCreateResponse> getAllProducts(Pageable pageable) {
-        return productRepository.findAll(pageable)
-                .map(product -> {
-                    Integer totalSaidas = movementRepository.sumQuantityByProductAndType(product.getId(), MovementType.SAIDA);
-                    return ProductCreateResponse.of(product, totalSaidas != null ? totalSaidas : 0);
-                });
+        Page<ProductRow> page = productRepository.findRows(pageable);
+        Map<Long, ProductMovementSummary> summaries = summariesOf(page.getContent());
+        Map<Long, ProductValuation> valuations = valuationsOf(page.getContent());
+        return page.map(product -> ProductCreateResponse.of(product, totalExits(summaries.get(product.id())),
+                valuations.get(product.id())));
+    }
+
+    public ProductSearchResponse searchProducts(ProductSearchRequest filter, Pageable pageable) {
+        if (filter.getPrecoMin() != null && filter.getPrecoMax() != null && filter.getPrecoMin() > filter.getPrecoMax()) {
+            throw new IllegalArgumentException("precoMin não pode ser maior que precoMax");
+        }
+        ProductSearchPage page = productSearchRepository.search(filter, pageable);
+        Map<Long, ProductMovementSummary> summaries = summariesOf(page.rows());
+        Map<Long, ProductValuation> valuations = valuationsOf(page.rows());
+        List<ProductCreateResponse> itens = page.rows().stream()
+                .map(product -> ProductCreateResponse.of(product, totalExits(summaries.get(product.id())),
+                        valuations.get(product.id())))
+                .collect(Collectors.toList());
+        return ProductSearchResponse.of(itens, page, pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    public Page<ProductCreateResponse> getLowStockProducts(Long categoryId, Long supplierId, Pageable pageable) {
+        Page<ProductRow> page;
+        if (categoryId != null && supplierId != null) {
+            page = productRepository.findLowStockRowsByCategoryAndSupplier(categoryId, supplierId, pageable);
+        } else if (categoryId != null) {
+            page = productRepository.findLowStockRowsByCategory(categoryId, pageable);
+        } else if (supplierId != null) {
+            page = productRepository.findLowStockRowsBySupplier(supplierId, pageable);
+        } else {
+            page = productRepository.findLowStockRows(pageable);
+        }
+        return page.map(ProductCreateResponse::of);
     }
 
     public List<ProductCreateResponse> getProductsByCategoryName(String categoryName) {
-        return productRepository.findByCategoryName(categoryName).stream()
+        return productRepository.findRowsByCategoryName(categoryName).stream()
                 .map(ProductCreateResponse::of)
                 .collect(Collectors.toList());
     }
 
+    private void reindex(Product product) {
+        searchIndex.indexProduct(product.getId(), product.getName(), product.getSku(), product.getDescription(),
+                Boolean.TRUE.equals(product.getActive()));
+    }
+
+    private Category categoryReference(Long categoryId) {
+        categoryService.searchCategoryById(categoryId);
+        return categoryService.getCategoryReference(categoryId);
+    }
+
+    private Supplier supplierReference(Long supplierId) {
+        supplierService.findSupplierDTOById(supplierId);
+        return supplierService.getSupplierReference(supplierId);
+    }
+
+    private ProductCreateResponse toResponse(Product product) {
+        CategoryCreateResponse category = categoryService.searchCategoryById(product.getCategory().getId());
+        FornecedorCreateResponse supplier = product.getSupplier() != null ?
+                supplierService.findSupplierDTOById(product.getSupplier().getId()) : null;
+        return ProductCreateResponse.of(product,
+                CategoryResponse.builder().id(category.getId()).name(category.getNome()).build(),
+                supplier != null ? SupplierResponse.builder().id(supplier.getId()).name(supplier.getNome()).build() : null);
+    }
+
+    private Map<Long, ProductMovementSummary> summariesOf(List<ProductRow> products) {
+        if (products.isEmpty()) {
+            return Map.of();
+        }
+        return summaryService.findByProductIds(products.stream().map(ProductRow::id).toList());
+    }
+
+    private Map<Long, ProductValuation> valuationsOf(List<ProductRow> products) {
+        if (products.isEmpty()) {
+            return Map.of();
+        }
+        return valuationService.findByProductIds(products.stream().map(ProductRow::id).toList());
+    }
+
+    private Integer totalExits(ProductMovementSummary summary) {
+        return summary != null ? Math.toIntExact(summary.getTotalExits()) : 0;
+    }
+
+    private Integer totalSold(ProductMovementSummary summary) {
+        return summary != null ? Math.toIntExact(summary.getTotalSold()) : 0;
+    }
+
     private void mapRequestToEntity(ProductCreateRequest request, Product product) {
         product.setName(request.getName());
         product.setDescription(request.getDescription());
@@ -133,25 +250,18 @@ public class ProductService {
         product.setSupplierPrice(request.getSupplierPrice());
         product.setSalePrice(request.getSalePrice());
         product.setStockQuantity(request.getStockQuantity() != null ? request.getStockQuantity() : 0);
+        product.setInitialStock(product.getStockQuantity());
         product.setMinimumStock(request.getMinimumStock());
         product.setUnitOfMeasure(request.getMeasurementUnit());
         product.setActive(true);
 
-        Category category = categoryService.getCategoryById(request.getCategoryId());
-        product.setCategory(category);
+        product.setCategory(categoryReference(request.getCategoryId()));
 
         if (request.getSupplierId() != null) {
-            Supplier supplier = supplierService.findSupplierById(request.getSupplierId());
-            product.setSupplier(supplier);
+            product.setSupplier(supplierReference(request.getSupplierId()));
         }
     }
 
-    @Transactional
-    public void updateProduct(Product product) {
-        product.setUpdatedAt(LocalDateTime.now());
-        productRepository.save(product);
-    }
-
     private void updateProductFields(Product product, ProductCreateRequest request) {
         if (request.getName() != null) {
             product.setName(request.getName());
@@ -181,12 +291,10 @@ public class ProductService {
             product.setUnitOfMeasure(request.getMeasurementUnit());
         }
         if (request.getCategoryId() != null) {
-            Category category = categoryService.getCategoryById(request.getCategoryId());
-            product.setCategory(category);
+            product.setCategory(categoryReference(request.getCategoryId()));
         }
         if (request.getSupplierId() != null) {
-            Supplier supplier = supplierService.findSupplierById(request.getSupplierId());
-            product.setSupplier(supplier);
+            product.setSupplier(supplierReference(request.getSupplierId()));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.nexdom.nexdomestoquechallenger.service;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.PostedMovement;
+import com.nexdom.nexdomestoquechallenger.dto.response.ValuationReportResponse;
+import com.nexdom.nexdomestoquechallenger.entity.ProductValuation;
+import com.nexdom.nexdomestoquechallenger.event.MovementsPostedEvent;
+import com.nexdom.nexdomestoquechallenger.repository.MovementBatchRepository;
+import com.nexdom.nexdomestoquechallenger.repository.ProductValuationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ProductValuationService {
+
+    private static final String SALE_REASON = "VENDA";
+
+    private final ProductValuationRepository valuationRepository;
+    private final MovementBatchRepository movementBatchRepository;
+
+    public ProductValuationService(ProductValuationRepository valuationRepository,
+                                   MovementBatchRepository movementBatchRepository) {
+        this.valuationRepository = valuationRepository;
+        this.movementBatchRepository = movementBatchRepository;
+    }
+
+    @EventListener
+    public void onMovementsPosted(MovementsPostedEvent event) {
+        List<PostedMovement> movements = event.getMovements().stream()
+                .filter(movement -> !StockReconciliationService.ADJUSTMENT_REASON.equals(movement.getReason()))
+                .toList();
+        if (!movements.isEmpty()) {
+            movementBatchRepository.applyValuations(movements, SALE_REASON, LocalDateTime.now());
+        }
+    }
+
+    public void adjustStock(Long productId, int stockQuantity, double unitCost) {
+        movementBatchRepository.adjustValuation(productId, stockQuantity, unitCost, LocalDateTime.now());
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, ProductValuation> findByProductIds(Collection<Long> productIds) {
+        return valuationRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(ProductValuation::getProductId, Function.identity()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ValuationReportResponse> getCategoryReport() {
+        return valuationRepository.sumByCategory().stream()
+                .map(ValuationReportResponse::of)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ValuationReportResponse> getSupplierReport() {
+        return valuationRepository.sumBySupplier().stream()
+                .map(ValuationReportResponse::of)
+                .collect(Collectors.toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissing() {
+        int seeded = movementBatchRepository.seedValuations(SALE_REASON, LocalDateTime.now());
+        if (seeded > 0) {
+            log.info("Valoração de estoque inicializada para {} produtos pelo custo atual", seeded);
+        }
+    }
+}
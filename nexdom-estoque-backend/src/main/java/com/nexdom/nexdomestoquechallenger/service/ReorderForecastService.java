@@ -0,0 +1,224 @@
+package com.nexdom.nexdomestoquechallenger.service;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductStockState;
+import com.nexdom.nexdomestoquechallenger.dto.response.ReorderReportResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.ReorderSuggestionResponse;
+import com.nexdom.nexdomestoquechallenger.repository.MovementBatchRepository;
+import com.nexdom.nexdomestoquechallenger.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ReorderForecastService {
+
+    private static final int SHORT_WINDOW = 7;
+    private static final int LONG_WINDOW = 30;
+
+    private final ProductRepository productRepository;
+    private final MovementBatchRepository movementBatchRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ForkJoinPool pool;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final int chunkSize;
+    private final int historyDays;
+    private final double alpha;
+    private final int leadTimeDays;
+    private final int coverageDays;
+    private final boolean calculateOnStartup;
+    private volatile ReorderReportResponse lastReport;
+
+    public ReorderForecastService(
+            ProductRepository productRepository,
+            MovementBatchRepository movementBatchRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${estoque.reposicao.paralelismo:4}") int parallelism,
+            @Value("${estoque.reposicao.tamanho-lote:500}") int chunkSize,
+            @Value("${estoque.reposicao.janela-dias:90}") int historyDays,
+            @Value("${estoque.reposicao.alfa:0.3}") double alpha,
+            @Value("${estoque.reposicao.prazo-entrega-dias:7}") int leadTimeDays,
+            @Value("${estoque.reposicao.cobertura-dias:30}") int coverageDays,
+            @Value("${estoque.reposicao.calcular-ao-iniciar:true}") boolean calculateOnStartup
+    ) {
+        this.productRepository = productRepository;
+        this.movementBatchRepository = movementBatchRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.pool = new ForkJoinPool(parallelism);
+        this.chunkSize = chunkSize;
+        this.historyDays = Math.max(historyDays, LONG_WINDOW);
+        this.alpha = alpha;
+        this.leadTimeDays = leadTimeDays;
+        this.coverageDays = coverageDays;
+        this.calculateOnStartup = calculateOnStartup;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleStartupCalculation() {
+        if (calculateOnStartup) {
+            pool.execute(this::recalculate);
+        }
+    }
+
+    @Scheduled(cron = "${estoque.reposicao.cron:0 30 1 * * *}")
+    public void recalculate() {
+        calculate();
+    }
+
+    public boolean calculate() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Previsão de reposição já está em execução");
+            return false;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            LocalDate today = LocalDate.now();
+            List<Long> productIds = productRepository.findAllIds();
+            List<Callable<List<ReorderSuggestionResponse>>> chunks = new ArrayList<>();
+            for (int from = 0; from < productIds.size(); from += chunkSize) {
+                List<Long> chunk = productIds.subList(from, Math.min(from + chunkSize, productIds.size()));
+                chunks.add(() -> forecastChunk(chunk, today));
+            }
+
+            List<ReorderSuggestionResponse> suggestions = new ArrayList<>();
+            for (Future<List<ReorderSuggestionResponse>> future : pool.invokeAll(chunks)) {
+                suggestions.addAll(future.get());
+            }
+            suggestions.sort(Comparator.comparing(ReorderSuggestionResponse::getDiasAteRuptura,
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+            lastReport = ReorderReportResponse.builder()
+                    .geradoEm(LocalDateTime.now())
+                    .produtosAnalisados(productIds.size())
+                    .emCalculo(false)
+                    .itens(suggestions)
+                    .build();
+            log.info("Previsão de reposição calculada para {} produtos em {} ms",
+                    productIds.size(), System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Falha ao calcular previsão de reposição", e.getCause());
+        } finally {
+            running.set(false);
+        }
+        return true;
+    }
+
+    public ReorderReportResponse getReport(Double maximumDays) {
+        ReorderReportResponse report = lastReport;
+        boolean calculating = running.get();
+        if (report == null) {
+            if (!calculating) {
+                throw new IllegalStateException("Previsão de reposição ainda não foi calculada");
+            }
+            return ReorderReportResponse.builder()
+                    .produtosAnalisados(0)
+                    .emCalculo(true)
+                    .itens(List.of())
+                    .build();
+        }
+        if (maximumDays == null && !calculating) {
+            return report;
+        }
+        return ReorderReportResponse.builder()
+                .geradoEm(report.getGeradoEm())
+                .produtosAnalisados(report.getProdutosAnalisados())
+                .emCalculo(calculating)
+                .itens(report.getItens().stream()
+                        .filter(item -> maximumDays == null ||
+                                item.getDiasAteRuptura() != null && item.getDiasAteRuptura() <= maximumDays)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private List<ReorderSuggestionResponse> forecastChunk(List<Long> productIds, LocalDate today) {
+        LocalDate firstDay = today.minusDays(historyDays);
+        Map<Long, long[]> daily = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT m.produto_id, CAST(m.data_hora AS DATE) AS dia, SUM(m.quantidade) AS quantidade " +
+                        "FROM movimentacao m WHERE m.tipo = 'SAIDA' AND m.produto_id = ANY(?) " +
+                        "AND m.motivo IS DISTINCT FROM 'AJUSTE_RECONCILIACAO' " +
+                        "AND m.data_hora >= ? AND m.data_hora < ? GROUP BY m.produto_id, CAST(m.data_hora AS DATE)",
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("bigint", productIds.toArray()));
+                    ps.setTimestamp(2, Timestamp.valueOf(firstDay.atStartOfDay()));
+                    ps.setTimestamp(3, Timestamp.valueOf(today.atStartOfDay()));
+                },
+                rs -> {
+                    int index = (int) (rs.getDate("dia").toLocalDate().toEpochDay() - firstDay.toEpochDay());
+                    daily.computeIfAbsent(rs.getLong("produto_id"), id -> new long[historyDays])[index] =
+                            rs.getLong("quantidade");
+                });
+
+        List<ReorderSuggestionResponse> suggestions = new ArrayList<>(productIds.size());
+        for (ProductStockState product : movementBatchRepository.findProducts(productIds).values()) {
+            suggestions.add(forecast(product, daily.getOrDefault(product.getId(), new long[historyDays])));
+        }
+        return suggestions;
+    }
+
+    private ReorderSuggestionResponse forecast(ProductStockState product, long[] series) {
+        double smoothed = 0;
+        for (int i = 0; i < series.length; i++) {
+            smoothed = i == 0 ? series[i] : alpha * series[i] + (1 - alpha) * smoothed;
+        }
+        double shortAverage = movingAverage(series, SHORT_WINDOW);
+        double longAverage = movingAverage(series, LONG_WINDOW);
+        double demand = Math.max(smoothed, shortAverage);
+        int stock = product.getStockQuantity();
+
+        Double daysUntilStockout = demand > 0 ? round(stock / demand) : null;
+        int suggestedMinimum = (int) Math.ceil(demand * leadTimeDays);
+        int suggestedQuantity = (int) Math.max(0, Math.ceil(demand * (leadTimeDays + coverageDays)) - stock);
+
+        return ReorderSuggestionResponse.builder()
+                .produtoId(product.getId())
+                .nome(product.getName())
+                .quantidadeEstoque(stock)
+                .estoqueMinimo(product.getMinimumStock())
+                .mediaMovel7(round(shortAverage))
+                .mediaMovel30(round(longAverage))
+                .suavizacaoExponencial(round(smoothed))
+                .diasAteRuptura(daysUntilStockout)
+                .quantidadeSugerida(suggestedQuantity)
+                .estoqueMinimoSugerido(suggestedMinimum)
+                .build();
+    }
+
+    private double movingAverage(long[] series, int window) {
+        long sum = 0;
+        for (int i = series.length - window; i < series.length; i++) {
+            sum += series[i];
+        }
+        return (double) sum / window;
+    }
+
+    private double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
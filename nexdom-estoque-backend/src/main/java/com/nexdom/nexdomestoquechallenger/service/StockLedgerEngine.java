@@ -0,0 +1,528 @@
+package com.nexdom.nexdomestoquechallenger.service;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.PostedMovement;
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductStockState;
+import com.nexdom.nexdomestoquechallenger.dto.request.MovementCreateRequest;
+import com.nexdom.nexdomestoquechallenger.dto.response.MovementResponse;
+import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+import com.nexdom.nexdomestoquechallenger.event.MovementsPostedEvent;
+import com.nexdom.nexdomestoquechallenger.event.ProductUpdatedEvent;
+import com.nexdom.nexdomestoquechallenger.exceptions.BusinessException;
+import com.nexdom.nexdomestoquechallenger.exceptions.ResourceNotFoundException;
+import com.nexdom.nexdomestoquechallenger.repository.MovementBatchRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "estoque.ledger.habilitado", havingValue = "true")
+public class StockLedgerEngine {
+
+    private final MovementBatchRepository movementBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Optional<MovementJournal> journal;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdempotencyService idempotencyService;
+    private final Shard[] shards;
+    private final int batchSize;
+    private final long counterTtlMillis;
+    private final long timeoutMillis;
+
+    public StockLedgerEngine(
+            MovementBatchRepository movementBatchRepository,
+            TransactionTemplate transactionTemplate,
+            Optional<MovementJournal> journal,
+            ApplicationEventPublisher eventPublisher,
+            IdempotencyService idempotencyService,
+            @Value("${estoque.ledger.shards:4}") int shardCount,
+            @Value("${estoque.ledger.tamanho-lote:256}") int batchSize,
+            @Value("${estoque.ledger.capacidade-fila:10000}") int queueCapacity,
+            @Value("${estoque.ledger.validade-contador-ms:30000}") long counterTtlMillis,
+            @Value("${estoque.ledger.timeout-ms:10000}") long timeoutMillis
+    ) {
+        this.movementBatchRepository = movementBatchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.journal = journal;
+        this.eventPublisher = eventPublisher;
+        this.idempotencyService = idempotencyService;
+        this.batchSize = batchSize;
+        this.counterTtlMillis = counterTtlMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, queueCapacity);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+    }
+
+    public PostedMovement submit(MovementCreateRequest request, String idempotencyKey) {
+        return submit(request, idempotencyKey, idempotencyKey != null ? idempotencyService.fingerprint(request) : null);
+    }
+
+    public PostedMovement submit(MovementCreateRequest request, String idempotencyKey, String fingerprint) {
+        Command command = new Command(request, idempotencyKey, fingerprint);
+        shardFor(request.getProductId()).enqueue(command);
+        return await(command, TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    public List<CompletableFuture<PostedMovement>> submitAll(List<MovementCreateRequest> requests) {
+        List<Command> commands = new ArrayList<>(requests.size());
+        for (MovementCreateRequest request : requests) {
+            Command command = new Command(request, null, null);
+            try {
+                shardFor(request.getProductId()).enqueue(command);
+            } catch (IllegalStateException e) {
+                command.cancel();
+                command.future().completeExceptionally(e);
+            }
+            commands.add(command);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        List<CompletableFuture<PostedMovement>> results = new ArrayList<>(commands.size());
+        for (Command command : commands) {
+            try {
+                await(command, Math.max(0, deadline - System.nanoTime()));
+            } catch (RuntimeException e) {
+                // a falha fica registrada no future do comando
+            }
+            results.add(command.future());
+        }
+        return results;
+    }
+
+    public void evict(Long productId) {
+        shardFor(productId).evictions.add(productId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductUpdated(ProductUpdatedEvent event) {
+        evict(event.getProductId());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (Shard shard : shards) {
+            shard.thread.interrupt();
+        }
+        for (Shard shard : shards) {
+            shard.thread.join(2 * timeoutMillis);
+        }
+    }
+
+    private PostedMovement await(Command command, long timeoutNanos) {
+        try {
+            return command.future().get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (TimeoutException e) {
+            if (command.cancel()) {
+                throw reject(command, "Tempo esgotado aguardando o ledger de estoque, movimentação não registrada");
+            }
+            return awaitStarted(command, false);
+        } catch (InterruptedException e) {
+            if (command.cancel()) {
+                Thread.currentThread().interrupt();
+                throw reject(command, "Interrompido aguardando o ledger de estoque, movimentação não registrada");
+            }
+            return awaitStarted(command, true);
+        }
+    }
+
+    private IllegalStateException reject(Command command, String message) {
+        IllegalStateException error = new IllegalStateException(message);
+        command.future().completeExceptionally(error);
+        return error;
+    }
+
+    private PostedMovement awaitStarted(Command command, boolean interrupted) {
+        try {
+            while (true) {
+                try {
+                    return command.future().get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw unwrap(e);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return new IllegalStateException("Erro ao registrar movimentação no ledger de estoque", e.getCause());
+    }
+
+    private Shard shardFor(Long productId) {
+        return shards[(int) Math.floorMod(productId, (long) shards.length)];
+    }
+
+    private static final class Command {
+        private final MovementCreateRequest request;
+        private final String idempotencyKey;
+        private final String fingerprint;
+        private final CompletableFuture<PostedMovement> future = new CompletableFuture<>();
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        private Command(MovementCreateRequest request, String idempotencyKey, String fingerprint) {
+            this.request = request;
+            this.idempotencyKey = idempotencyKey;
+            this.fingerprint = fingerprint;
+        }
+
+        MovementCreateRequest request() {
+            return request;
+        }
+
+        String idempotencyKey() {
+            return idempotencyKey;
+        }
+
+        String fingerprint() {
+            return fingerprint;
+        }
+
+        CompletableFuture<PostedMovement> future() {
+            return future;
+        }
+
+        boolean claim() {
+            return started.compareAndSet(false, true);
+        }
+
+        boolean cancel() {
+            return started.compareAndSet(false, true);
+        }
+    }
+
+    private record Counter(ProductStockState state, long loadedAt) {
+    }
+
+    private static final class IdempotencyConflictException extends IllegalStateException {
+        private final Set<String> keys;
+
+        private IdempotencyConflictException(Set<String> keys) {
+            super("Idempotency-Key já utilizada: " + keys);
+            this.keys = keys;
+        }
+    }
+
+    private static final class JournalUnconfirmedException extends IllegalStateException {
+        private JournalUnconfirmedException() {
+            super("Gravação no journal de movimentações sem confirmação; consulte as movimentações antes de reenviar");
+        }
+    }
+
+    private class Shard implements Runnable {
+
+        private final BlockingQueue<Command> queue;
+        private final Queue<Long> evictions = new ConcurrentLinkedQueue<>();
+        private final Map<Long, Counter> counters = new HashMap<>();
+        private final Thread thread;
+
+        Shard(int index, int queueCapacity) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.thread = new Thread(this, "estoque-ledger-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        void enqueue(Command command) {
+            if (!queue.offer(command)) {
+                throw new IllegalStateException("Ledger de estoque sobrecarregado, tente novamente");
+            }
+        }
+
+        @Override
+        public void run() {
+            List<Command> batch = new ArrayList<>(batchSize);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, batchSize - 1);
+                    process(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    log.error("Falha inesperada no ledger de estoque", e);
+                    counters.clear();
+                    batch.forEach(command -> command.future().completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+            for (Command command = queue.poll(); command != null; command = queue.poll()) {
+                if (command.cancel()) {
+                    command.future().completeExceptionally(
+                            new IllegalStateException("Ledger de estoque encerrado, movimentação não registrada"));
+                }
+            }
+        }
+
+        private void process(List<Command> batch) {
+            for (Long productId = evictions.poll(); productId != null; productId = evictions.poll()) {
+                counters.remove(productId);
+            }
+            List<Command> posts = new ArrayList<>(batch.size());
+            for (Command command : batch) {
+                if (command.claim()) {
+                    posts.add(command);
+                }
+            }
+            posts = skipUsedKeys(posts);
+            if (posts.isEmpty()) {
+                return;
+            }
+
+            Map<Command, PostedMovement> accepted = validate(posts);
+            try {
+                flush(accepted.values());
+            } catch (RuntimeException e) {
+                if (Thread.currentThread().isInterrupted() || e instanceof JournalUnconfirmedException) {
+                    accepted.values().forEach(movement -> counters.remove(movement.getProductId()));
+                    accepted.keySet().forEach(command -> command.future().completeExceptionally(e));
+                    return;
+                }
+                log.warn("Falha ao gravar lote do ledger, recarregando contadores: {}", e.getMessage());
+                accepted.values().forEach(movement -> counters.remove(movement.getProductId()));
+                List<Command> retry = new ArrayList<>(accepted.size());
+                for (Command command : accepted.keySet()) {
+                    if (e instanceof IdempotencyConflictException conflict &&
+                            conflict.keys.contains(command.idempotencyKey())) {
+                        command.future().completeExceptionally(conflict);
+                    } else {
+                        retry.add(command);
+                    }
+                }
+                accepted = validate(retry);
+                try {
+                    flush(accepted.values());
+                } catch (RuntimeException retryFailure) {
+                    accepted.values().forEach(movement -> counters.remove(movement.getProductId()));
+                    accepted.keySet().forEach(command -> command.future().completeExceptionally(retryFailure));
+                    return;
+                }
+            }
+            accepted.forEach((command, movement) -> command.future().complete(movement));
+        }
+
+        private List<Command> skipUsedKeys(List<Command> posts) {
+            if (journal.isEmpty() || posts.stream().allMatch(command -> command.idempotencyKey() == null)) {
+                return posts;
+            }
+            Set<String> keys = new HashSet<>();
+            posts.forEach(command -> {
+                if (command.idempotencyKey() != null) {
+                    keys.add(command.idempotencyKey());
+                }
+            });
+            Map<String, PostedMovement> used = journal.get().findUsedKeys(keys);
+            if (used.isEmpty()) {
+                return posts;
+            }
+            List<Command> fresh = new ArrayList<>(posts.size());
+            for (Command command : posts) {
+                if (!used.containsKey(command.idempotencyKey())) {
+                    fresh.add(command);
+                } else if (used.get(command.idempotencyKey()) != null) {
+                    PostedMovement pending = used.get(command.idempotencyKey());
+                    try {
+                        idempotencyService.checkFingerprint(command.idempotencyKey(), pending.getRequestFingerprint(),
+                                command.fingerprint());
+                        command.future().complete(pending);
+                    } catch (IllegalStateException e) {
+                        command.future().completeExceptionally(e);
+                    }
+                } else {
+                    command.future().completeExceptionally(
+                            new IdempotencyConflictException(Set.of(command.idempotencyKey())));
+                }
+            }
+            return fresh;
+        }
+
+        private Map<Command, PostedMovement> validate(List<Command> posts) {
+            loadCounters(posts);
+            LocalDateTime now = LocalDateTime.now();
+            Map<Command, PostedMovement> accepted = new LinkedHashMap<>();
+            Set<String> keys = new HashSet<>();
+            for (Command command : posts) {
+                MovementCreateRequest request = command.request();
+                if (command.idempotencyKey() != null && !keys.add(command.idempotencyKey())) {
+                    command.future().completeExceptionally(new IllegalStateException(
+                            "Idempotency-Key " + command.idempotencyKey() + " ainda em processamento"));
+                    continue;
+                }
+                Counter counter = counters.get(request.getProductId());
+                if (counter == null) {
+                    command.future().completeExceptionally(
+                            new ResourceNotFoundException("Produto não encontrado com ID: " + request.getProductId()));
+                    continue;
+                }
+                ProductStockState product = counter.state();
+                if (request.getType() == MovementType.SAIDA &&
+                        product.getStockQuantity() < request.getQuantity()) {
+                    command.future().completeExceptionally(new BusinessException(
+                            "Estoque insuficiente para o produto " + product.getName() +
+                                    ". Disponível: " + product.getStockQuantity() +
+                                    ", Solicitado: " + request.getQuantity()));
+                    continue;
+                }
+
+                PostedMovement movement = PostedMovement.builder()
+                        .productId(product.getId())
+                        .productName(product.getName())
+                        .type(request.getType())
+                        .quantity(request.getQuantity())
+                        .dateTime(now)
+                        .responsibleUser(request.getResponsibleUser())
+                        .reason(request.getReason())
+                        .salePrice(request.getSalePrice() != null ? request.getSalePrice() : product.getSalePrice())
+                        .minimumStock(product.getMinimumStock())
+                        .idempotencyKey(command.idempotencyKey())
+                        .requestFingerprint(command.fingerprint())
+                        .build();
+                product.setStockQuantity(product.getStockQuantity() + movement.getStockDelta());
+                movement.setResultingStock(product.getStockQuantity());
+                accepted.put(command, movement);
+            }
+            return accepted;
+        }
+
+        private void loadCounters(List<Command> posts) {
+            long now = System.currentTimeMillis();
+            Set<Long> missing = new HashSet<>();
+            for (Command command : posts) {
+                Long productId = command.request().getProductId();
+                Counter counter = counters.get(productId);
+                if (counter == null || now - counter.loadedAt() > counterTtlMillis) {
+                    missing.add(productId);
+                }
+            }
+            if (missing.isEmpty()) {
+                return;
+            }
+            missing.forEach(counters::remove);
+            journal.map(j -> j.loadProducts(missing))
+                    .orElseGet(() -> movementBatchRepository.findProducts(missing))
+                    .forEach((id, state) -> counters.put(id, new Counter(state, now)));
+        }
+
+        private void flush(Collection<PostedMovement> movements) {
+            if (movements.isEmpty()) {
+                return;
+            }
+            List<PostedMovement> rows = new ArrayList<>(movements);
+            if (journal.isPresent()) {
+                awaitJournal(journal.get().append(rows));
+                return;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            Map<Long, Integer> deltas = new LinkedHashMap<>();
+            rows.forEach(movement -> deltas.merge(movement.getProductId(), movement.getStockDelta(), Integer::sum));
+
+            transactionTemplate.executeWithoutResult(status -> {
+                Iterator<Long> ids = movementBatchRepository.nextMovementIds(rows.size()).iterator();
+                rows.forEach(movement -> movement.setId(ids.next()));
+                movementBatchRepository.insertMovements(rows);
+                int[] updated = movementBatchRepository.applyStockDeltas(deltas, now);
+                for (int count : updated) {
+                    if (count == 0) {
+                        throw new IllegalStateException("Estoque divergente do ledger em memória");
+                    }
+                }
+                Map<String, MovementResponse> responses = new LinkedHashMap<>();
+                Map<String, String> fingerprints = new HashMap<>();
+                rows.forEach(movement -> {
+                    if (movement.getIdempotencyKey() != null) {
+                        responses.put(movement.getIdempotencyKey(), MovementResponse.of(movement));
+                        fingerprints.put(movement.getIdempotencyKey(), movement.getRequestFingerprint());
+                    }
+                });
+                Set<String> conflicts = idempotencyService.recordAll(MovementService.IDEMPOTENCY_SCOPE, responses,
+                        fingerprints);
+                if (!conflicts.isEmpty()) {
+                    throw new IdempotencyConflictException(conflicts);
+                }
+                eventPublisher.publishEvent(new MovementsPostedEvent(rows));
+            });
+        }
+
+        private void awaitJournal(MovementJournal.Append appended) {
+            try {
+                appended.future().get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falha ao gravar no journal de movimentações", e.getCause());
+            } catch (TimeoutException e) {
+                if (appended.cancel()) {
+                    throw new IllegalStateException("Journal de movimentações não iniciou a gravação em "
+                            + timeoutMillis + " ms; lote descartado");
+                }
+                awaitWrite(appended);
+            } catch (InterruptedException e) {
+                try {
+                    if (appended.cancel()) {
+                        throw new IllegalStateException("Ledger encerrado antes da gravação no journal de movimentações");
+                    }
+                    awaitWrite(appended);
+                } finally {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void awaitWrite(MovementJournal.Append appended) {
+            long limit = timeoutMillis + journal.get().getSpaceWaitMillis();
+            try {
+                appended.future().get(limit, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falha ao gravar no journal de movimentações", e.getCause());
+            } catch (InterruptedException | TimeoutException e) {
+                log.error("Gravação no journal de movimentações sem confirmação após {} ms", limit);
+                throw new JournalUnconfirmedException();
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.nexdom.nexdomestoquechallenger.service;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.PostedMovement;
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductStockState;
+import com.nexdom.nexdomestoquechallenger.dto.projection.StockDiscrepancy;
+import com.nexdom.nexdomestoquechallenger.dto.response.ReconciliationStatusResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.StockDiscrepancyResponse;
+import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+import com.nexdom.nexdomestoquechallenger.event.MovementsPostedEvent;
+import com.nexdom.nexdomestoquechallenger.exceptions.ResourceNotFoundException;
+import com.nexdom.nexdomestoquechallenger.repository.MovementBatchRepository;
+import com.nexdom.nexdomestoquechallenger.repository.StockReconciliationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class StockReconciliationService {
+
+    public static final String ADJUSTMENT_REASON = "AJUSTE_RECONCILIACAO";
+    private static final String ADJUSTMENT_USER = "reconciliacao";
+
+    private final StockReconciliationRepository reconciliationRepository;
+    private final MovementBatchRepository movementBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ForkJoinPool pool;
+    private final ExecutorService runner;
+    private final int rangeSize;
+    private final boolean scheduledCorrection;
+    private final int retentionDays;
+    private volatile Run current;
+
+    public StockReconciliationService(
+            StockReconciliationRepository reconciliationRepository,
+            MovementBatchRepository movementBatchRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${estoque.reconciliacao.paralelismo:4}") int parallelism,
+            @Value("${estoque.reconciliacao.tamanho-faixa:10000}") int rangeSize,
+            @Value("${estoque.reconciliacao.corrigir-agendado:false}") boolean scheduledCorrection,
+            @Value("${estoque.reconciliacao.retencao-dias:90}") int retentionDays
+    ) {
+        this.reconciliationRepository = reconciliationRepository;
+        this.movementBatchRepository = movementBatchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.pool = new ForkJoinPool(parallelism);
+        this.runner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "estoque-reconciliacao");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rangeSize = rangeSize;
+        this.scheduledCorrection = scheduledCorrection;
+        this.retentionDays = retentionDays;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillBaselines() {
+        runner.execute(() -> {
+            int total = 0;
+            int updated;
+            do {
+                updated = transactionTemplate.execute(status -> {
+                    List<Long> productIds = reconciliationRepository.lockProductsWithoutBaseline(rangeSize);
+                    return productIds.isEmpty() ? 0 : reconciliationRepository.backfillInitialStock(productIds);
+                });
+                total += updated;
+            } while (updated > 0 && !Thread.currentThread().isInterrupted());
+            if (total > 0) {
+                log.info("Estoque inicial calculado a partir das movimentações para {} produtos", total);
+            }
+        });
+    }
+
+    @Scheduled(cron = "${estoque.reconciliacao.cron:0 0 4 * * SUN}")
+    public void scheduledRun() {
+        try {
+            start(scheduledCorrection);
+        } catch (IllegalStateException e) {
+            log.info("Reconciliação agendada ignorada: {}", e.getMessage());
+        }
+    }
+
+    public synchronized ReconciliationStatusResponse start(boolean correct) {
+        if (current != null && current.finishedAt == null) {
+            throw new IllegalStateException("Reconciliação já está em execução: " + current.id);
+        }
+        Run run = new Run(UUID.randomUUID().toString(), correct);
+        current = run;
+        runner.execute(() -> execute(run));
+        return status(run);
+    }
+
+    public ReconciliationStatusResponse getStatus() {
+        Run run = current;
+        if (run == null) {
+            throw new ResourceNotFoundException("Nenhuma reconciliação executada");
+        }
+        return status(run);
+    }
+
+    public List<StockDiscrepancyResponse> getDiscrepancies(String runId, Long afterId, int limit) {
+        String id = runId != null ? runId : getStatus().getExecucao();
+        return reconciliationRepository.findByRun(id, afterId, limit).stream()
+                .map(StockDiscrepancyResponse::of)
+                .collect(Collectors.toList());
+    }
+
+    private void execute(Run run) {
+        try {
+            if (retentionDays > 0) {
+                reconciliationRepository.deleteDetectedBefore(run.startedAt.minusDays(retentionDays));
+            }
+            long[] bounds = reconciliationRepository.findIdBounds();
+            List<Callable<Void>> ranges = new ArrayList<>();
+            for (long from = bounds[0]; from <= bounds[1]; from += rangeSize) {
+                long start = from;
+                long end = Math.min(from + rangeSize, bounds[1] + 1);
+                ranges.add(() -> {
+                    checkRange(run, start, end);
+                    return null;
+                });
+            }
+            run.totalRanges = ranges.size();
+            for (Future<Void> future : pool.invokeAll(ranges)) {
+                future.get();
+            }
+            run.status = "CONCLUIDA";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.status = "INTERROMPIDA";
+        } catch (Exception e) {
+            log.error("Falha na reconciliação de estoque {}", run.id, e);
+            run.status = "FALHOU";
+            run.error = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+        } finally {
+            run.finishedAt = LocalDateTime.now();
+            log.info("Reconciliação {} finalizada: {} produtos, {} divergências, {} correções",
+                    run.id, run.checked.get(), run.discrepancies.get(), run.corrections.get());
+        }
+    }
+
+    private void checkRange(Run run, long fromId, long toIdExclusive) {
+        List<StockDiscrepancy> found = new ArrayList<>();
+        int checked = reconciliationRepository.checkRange(fromId, toIdExclusive, found::add);
+        if (!found.isEmpty()) {
+            reconciliationRepository.insertDiscrepancies(run.id, found);
+            run.discrepancies.addAndGet(found.size());
+            if (run.correct) {
+                found.forEach(discrepancy -> correct(run, discrepancy.productId()));
+            }
+        }
+        run.checked.addAndGet(checked);
+        run.completedRanges.incrementAndGet();
+    }
+
+    private void correct(Run run, Long productId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, ProductStockState> locked = movementBatchRepository.lockProducts(List.of(productId));
+            ProductStockState product = locked.get(productId);
+            if (product == null) {
+                return;
+            }
+            Integer ledger = reconciliationRepository.findLedgerQuantity(productId);
+            if (ledger == null) {
+                return;
+            }
+            int difference = product.getStockQuantity() - ledger;
+            if (difference == 0) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            PostedMovement movement = PostedMovement.builder()
+                    .id(movementBatchRepository.nextMovementIds(1).get(0))
+                    .productId(productId)
+                    .productName(product.getName())
+                    .type(difference > 0 ? MovementType.ENTRADA : MovementType.SAIDA)
+                    .quantity(Math.abs(difference))
+                    .dateTime(now)
+                    .responsibleUser(ADJUSTMENT_USER)
+                    .reason(ADJUSTMENT_REASON)
+                    .resultingStock(product.getStockQuantity())
+                    .minimumStock(product.getMinimumStock())
+                    .build();
+            movementBatchRepository.insertMovements(List.of(movement));
+            reconciliationRepository.markCorrected(run.id, productId);
+            eventPublisher.publishEvent(new MovementsPostedEvent(List.of(movement)));
+            run.corrections.incrementAndGet();
+        });
+    }
+
+    private ReconciliationStatusResponse status(Run run) {
+        LocalDateTime end = run.finishedAt != null ? run.finishedAt : LocalDateTime.now();
+        double seconds = Math.max(Duration.between(run.startedAt, end).toMillis(), 1) / 1000.0;
+        return ReconciliationStatusResponse.builder()
+                .execucao(run.id)
+                .situacao(run.status)
+                .corrigir(run.correct)
+                .iniciadaEm(run.startedAt)
+                .finalizadaEm(run.finishedAt)
+                .faixasTotal(run.totalRanges)
+                .faixasConcluidas(run.completedRanges.get())
+                .produtosVerificados(run.checked.get())
+                .divergencias(run.discrepancies.get())
+                .correcoes(run.corrections.get())
+                .produtosPorSegundo(Math.round(run.checked.get() / seconds * 10) / 10.0)
+                .erro(run.error)
+                .build();
+    }
+
+    private static final class Run {
+        private final String id;
+        private final boolean correct;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicInteger completedRanges = new AtomicInteger();
+        private final AtomicLong checked = new AtomicLong();
+        private final AtomicLong discrepancies = new AtomicLong();
+        private final AtomicLong corrections = new AtomicLong();
+        private volatile int totalRanges;
+        private volatile String status = "EM_EXECUCAO";
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Run(String id, boolean correct) {
+            this.id = id;
+            this.correct = correct;
+        }
+    }
+}
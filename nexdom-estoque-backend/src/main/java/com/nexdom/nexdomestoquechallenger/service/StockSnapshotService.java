@@ -0,0 +1,63 @@
+package com.nexdom.nexdomestoquechallenger.service;
+
+import com.nexdom.nexdomestoquechallenger.dto.response.StockAsOfResponse;
+import com.nexdom.nexdomestoquechallenger.exceptions.ResourceNotFoundException;
+import com.nexdom.nexdomestoquechallenger.repository.StockSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class StockSnapshotService {
+
+    private final StockSnapshotRepository snapshotRepository;
+    private final int retentionDays;
+
+    public StockSnapshotService(
+            StockSnapshotRepository snapshotRepository,
+            @Value("${estoque.snapshots.retencao-dias:400}") int retentionDays
+    ) {
+        this.snapshotRepository = snapshotRepository;
+        this.retentionDays = retentionDays;
+    }
+
+    @Scheduled(cron = "${estoque.snapshots.cron:0 5 0 * * *}")
+    public void captureYesterday() {
+        LocalDate day = LocalDate.now().minusDays(1);
+        int products = snapshotRepository.capture(day);
+        log.info("Snapshot de estoque de {} gravado para {} produtos", day, products);
+        if (retentionDays > 0) {
+            snapshotRepository.deleteBefore(day.minusDays(retentionDays));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void captureIfMissing() {
+        if (!snapshotRepository.exists(LocalDate.now().minusDays(1))) {
+            captureYesterday();
+        }
+    }
+
+    public StockAsOfResponse getProductStockAt(Long productId, LocalDateTime at) {
+        LocalDateTime moment = at != null ? at : LocalDateTime.now();
+        return snapshotRepository.findProductAsOf(productId, moment)
+                .map(stock -> StockAsOfResponse.of(stock, moment))
+                .orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado com ID: " + productId));
+    }
+
+    public List<StockAsOfResponse> getCategoryStockAt(String categoryName, LocalDateTime at) {
+        LocalDateTime moment = at != null ? at : LocalDateTime.now();
+        return snapshotRepository.findCategoryAsOf(categoryName, moment).stream()
+                .map(stock -> StockAsOfResponse.of(stock, moment))
+                .collect(Collectors.toList());
+    }
+}
@@ -1,10 +1,17 @@
 package com.nexdom.nexdomestoquechallenger.service;
 
+import com.nexdom.nexdomestoquechallenger.config.CacheConfig;
 import com.nexdom.nexdomestoquechallenger.dto.request.FornecedorCreateRequest;
 import com.nexdom.nexdomestoquechallenger.dto.response.FornecedorCreateResponse;
 import com.nexdom.nexdomestoquechallenger.entity.Supplier;
 import com.nexdom.nexdomestoquechallenger.exceptions.ResourceNotFoundException;
 import com.nexdom.nexdomestoquechallenger.repository.SupplierRepository;
+import com.nexdom.nexdomestoquechallenger.search.CatalogSearchIndex;
+import com.nexdom.nexdomestoquechallenger.repository.ProductRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,12 +23,20 @@ import java.util.stream.Collectors;
 public class SupplierService {
 
     private final SupplierRepository supplierRepository;
+    private final ProductRepository productRepository;
+    private final CatalogVersionService catalogVersions;
+    private final CatalogSearchIndex searchIndex;
 
-    public SupplierService(SupplierRepository supplierRepository) {
+    public SupplierService(SupplierRepository supplierRepository, ProductRepository productRepository,
+                           CatalogVersionService catalogVersions, CatalogSearchIndex searchIndex) {
         this.supplierRepository = supplierRepository;
+        this.productRepository = productRepository;
+        this.catalogVersions = catalogVersions;
+        this.searchIndex = searchIndex;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, allEntries = true)
     public FornecedorCreateResponse createSupplier(FornecedorCreateRequest fornecedorCreateRequest) {
         if (fornecedorCreateRequest.getCnpj() != null &&
                 supplierRepository.existsByCnpj(fornecedorCreateRequest.getCnpj())) {
@@ -38,6 +53,8 @@ public class SupplierService {
         supplier.setUpdatedAt(LocalDateTime.now());
 
         Supplier supplierSalvo = supplierRepository.save(supplier);
+        catalogVersions.bump(CatalogVersionService.SUPPLIERS);
+        searchIndex.indexSupplier(supplierSalvo.getId(), supplierSalvo.getName(), supplierSalvo.getCnpj());
 
         return FornecedorCreateResponse.of(supplierSalvo);
     }
@@ -47,23 +64,33 @@ public class SupplierService {
                 .orElseThrow(() -> new ResourceNotFoundException("Fornecedor não encontrado com ID: " + id));
     }
 
+    public Supplier getSupplierReference(Long id) {
+        return supplierRepository.getReferenceById(id);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.SUPPLIER, key = "#id")
     public FornecedorCreateResponse findSupplierDTOById(Long id) {
         return FornecedorCreateResponse.of(findSupplierById(id));
     }
 
+    @Cacheable(CacheConfig.SUPPLIERS)
     public List<FornecedorCreateResponse> listarTodos() {
-        return supplierRepository.findAll().stream()
+        return supplierRepository.findAllRows().stream()
                 .map(FornecedorCreateResponse::of)
                 .collect(Collectors.toList());
     }
 
     public List<FornecedorCreateResponse> buscarPorNome(String name) {
-        return supplierRepository.findByNameContainingIgnoreCase(name).stream()
+        return supplierRepository.findRowsByNameContainingIgnoreCase(name).stream()
                 .map(FornecedorCreateResponse::of)
                 .collect(Collectors.toList());
     }
 
     @Transactional
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.SUPPLIER, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, allEntries = true)
+    )
     public FornecedorCreateResponse updateSupplier(Long id, FornecedorCreateRequest fornecedorDTO) {
         Supplier supplier = findSupplierById(id);
 
@@ -79,17 +106,25 @@ public class SupplierService {
         supplier.setEmail(fornecedorDTO.getEmail());
         supplier.setAddress(fornecedorDTO.getEndereco());
 
+        catalogVersions.bump(CatalogVersionService.SUPPLIERS);
+        searchIndex.indexSupplier(id, supplier.getName(), supplier.getCnpj());
         return FornecedorCreateResponse.of(supplierRepository.save(supplier));
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SUPPLIER, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, allEntries = true)
+    })
     public void deleteSupplier(Long id) {
         Supplier supplier = findSupplierById(id);
 
-        if (!supplier.getProducts().isEmpty()) {
+        if (productRepository.existsBySupplierId(id)) {
             throw new IllegalStateException("Não é possível excluir o fornecedor pois ele está associado a produtos");
         }
 
         supplierRepository.delete(supplier);
+        catalogVersions.bump(CatalogVersionService.SUPPLIERS);
+        searchIndex.removeSupplier(id);
     }
 }
\ No newline at end of file
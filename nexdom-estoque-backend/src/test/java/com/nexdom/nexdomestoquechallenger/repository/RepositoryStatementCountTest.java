@@ -0,0 +1,176 @@
+package com.nexdom.nexdomestoquechallenger.repository;
+
+import com.nexdom.nexdomestoquechallenger.dto.response.MovementPageResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.ProductCreateResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.ProductProfitResponse;
+import com.nexdom.nexdomestoquechallenger.dto.response.ProductStockResponse;
+import com.nexdom.nexdomestoquechallenger.entity.Category;
+import com.nexdom.nexdomestoquechallenger.entity.Movement;
+import com.nexdom.nexdomestoquechallenger.entity.Product;
+import com.nexdom.nexdomestoquechallenger.entity.ProductMovementSummary;
+import com.nexdom.nexdomestoquechallenger.entity.ProductValuation;
+import com.nexdom.nexdomestoquechallenger.entity.Supplier;
+import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+import com.nexdom.nexdomestoquechallenger.search.CatalogSearchIndex;
+import com.nexdom.nexdomestoquechallenger.service.CatalogVersionService;
+import com.nexdom.nexdomestoquechallenger.service.CategoryService;
+import com.nexdom.nexdomestoquechallenger.service.IdempotencyService;
+import com.nexdom.nexdomestoquechallenger.service.MovementService;
+import com.nexdom.nexdomestoquechallenger.service.ProductMovementSummaryService;
+import com.nexdom.nexdomestoquechallenger.service.ProductService;
+import com.nexdom.nexdomestoquechallenger.service.ProductValuationService;
+import com.nexdom.nexdomestoquechallenger.service.SupplierService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class RepositoryStatementCountTest {
+
+    private static final int PRODUCTS = 10;
+    private static final int MOVEMENTS_PER_PRODUCT = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Autowired
+    private ProductMovementSummaryRepository summaryRepository;
+
+    @Autowired
+    private ProductValuationRepository valuationRepository;
+
+    private ProductService productService;
+    private MovementService movementService;
+    private Statistics statistics;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        MovementBatchRepository movementBatchRepository = mock(MovementBatchRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        CatalogVersionService catalogVersions = mock(CatalogVersionService.class);
+        productService = new ProductService(productRepository, mock(CategoryService.class),
+                mock(SupplierService.class),
+                new ProductMovementSummaryService(summaryRepository, movementBatchRepository, movementRepository,
+                        productRepository, transactionTemplate, catalogVersions, 1000),
+                mock(ApplicationEventPublisher.class), catalogVersions, mock(CatalogSearchIndex.class),
+                mock(ProductSearchRepository.class),
+                new ProductValuationService(valuationRepository, movementBatchRepository));
+        movementService = new MovementService(movementRepository, productService, transactionTemplate,
+                Optional.empty(), mock(ApplicationEventPublisher.class), mock(IdempotencyService.class), 50, 500);
+
+        Category category = new Category();
+        category.setName("Bebidas");
+        entityManager.persist(category);
+
+        for (int i = 0; i < PRODUCTS; i++) {
+            Supplier supplier = new Supplier();
+            supplier.setName("Fornecedor " + i);
+            entityManager.persist(supplier);
+
+            Product product = new Product("Produto " + i, "SKU-" + i, 5.0, 10.0);
+            product.setCategory(category);
+            product.setSupplier(supplier);
+            product.setUpdatedAt(LocalDateTime.now());
+            entityManager.persist(product);
+            productId = product.getId();
+
+            for (int j = 0; j < MOVEMENTS_PER_PRODUCT; j++) {
+                Movement movement = new Movement();
+                movement.setProduct(product);
+                movement.setType(MovementType.ENTRADA);
+                movement.setQuantity(1);
+                movement.setDateTime(LocalDateTime.now().minusMinutes(j));
+                entityManager.persist(movement);
+            }
+            entityManager.persist(new ProductMovementSummary(product.getId(), (long) MOVEMENTS_PER_PRODUCT, 0L, 0L,
+                    0.0, LocalDateTime.now()));
+            entityManager.persist(new ProductValuation(product.getId(), MOVEMENTS_PER_PRODUCT, 5.0,
+                    5.0 * MOVEMENTS_PER_PRODUCT, 0.0, 0.0, LocalDateTime.now()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void movementListUsesOneStatement() {
+        MovementPageResponse page = movementService.getAllMovements(null, null, null, 100);
+
+        assertThat(page.getItens()).hasSize(PRODUCTS * MOVEMENTS_PER_PRODUCT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void productMovementListUsesOneStatement() {
+        MovementPageResponse page = movementService.getMovementsByProduct(productId, null, null, null, 100);
+
+        assertThat(page.getItens()).hasSize(MOVEMENTS_PER_PRODUCT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void productPageUsesRowCountSummaryAndValuationStatements() {
+        Page<ProductCreateResponse> page = productService
+                .getAllProducts(PageRequest.of(0, PRODUCTS - 1, Sort.by("updatedAt")));
+
+        assertThat(page.getContent()).hasSize(PRODUCTS - 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    void productDetailLoadsCategoryAndSupplierTogether() {
+        ProductCreateResponse product = productService.findProductResponseById(productId);
+
+        assertThat(product.getId()).isEqualTo(productId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void categoryListUsesOneStatement() {
+        List<ProductCreateResponse> products = productService.getProductsByCategoryName("Bebidas");
+
+        assertThat(products).hasSize(PRODUCTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void categoryStockReportUsesRowAndSummaryStatements() {
+        List<ProductStockResponse> products = productService.getProductsWithMovementsByCategory("Bebidas");
+
+        assertThat(products).hasSize(PRODUCTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void categoryProfitReportUsesRowSummaryAndValuationStatements() {
+        List<ProductProfitResponse> products = productService.getProductsProfitByCategory("Bebidas");
+
+        assertThat(products).hasSize(PRODUCTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,172 @@
+package com.nexdom.nexdomestoquechallenger.service;
+
+import com.nexdom.nexdomestoquechallenger.controller.MovementController;
+import com.nexdom.nexdomestoquechallenger.dto.projection.FeedEntry;
+import com.nexdom.nexdomestoquechallenger.dto.response.MovementFeedResponse;
+import com.nexdom.nexdomestoquechallenger.event.MovementsPostedEvent;
+import com.nexdom.nexdomestoquechallenger.exceptions.GlobalExceptionHandler;
+import com.nexdom.nexdomestoquechallenger.repository.MovementFeedRepository;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MovementFeedServiceTest {
+
+    private final MovementFeedRepository repository = mock(MovementFeedRepository.class);
+    private final MovementFeedService service = new MovementFeedService(repository, 100, 1000, 30, 7);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void cursorResumesAfterTheLastReturnedEntry() {
+        when(repository.findPurgedUpTo()).thenReturn(Optional.empty());
+        when(repository.findAfter(0, 0, 2)).thenReturn(List.of(entry(5, 1, 10L), entry(5, 2, 11L)));
+        when(repository.findAfter(5, 2, 2)).thenReturn(List.of(entry(7, 3, 12L)));
+
+        MovementFeedResponse first = body(service.getChanges(null, 2, null));
+        assertThat(first.getItens()).extracting("movimentacaoId").containsExactly(10L, 11L);
+        assertThat(first.getTemMais()).isTrue();
+        assertThat(first.getCursor()).isEqualTo(cursor(5, 2));
+
+        MovementFeedResponse second = body(service.getChanges(first.getCursor(), 2, null));
+        assertThat(second.getItens()).extracting("movimentacaoId").containsExactly(12L);
+        assertThat(second.getTemMais()).isFalse();
+        assertThat(second.getCursor()).isEqualTo(cursor(7, 3));
+    }
+
+    @Test
+    void emptyPageKeepsTheCallerCursor() {
+        when(repository.findPurgedUpTo()).thenReturn(Optional.empty());
+        when(repository.findAfter(7, 3, 100)).thenReturn(List.of());
+
+        MovementFeedResponse page = body(service.getChanges(cursor(7, 3), null, null));
+
+        assertThat(page.getItens()).isEmpty();
+        assertThat(page.getCursor()).isEqualTo(cursor(7, 3));
+    }
+
+    @Test
+    void waiterIsOnlyWokenOnceNewEntriesAreVisible() throws Exception {
+        when(repository.findPurgedUpTo()).thenReturn(Optional.empty());
+        when(repository.findAfter(5, 2, 100)).thenReturn(List.of());
+        when(repository.findVisibleHead()).thenReturn(Optional.of(new long[]{5, 2}));
+
+        DeferredResult<ResponseEntity<MovementFeedResponse>> result = service.getChanges(cursor(5, 2), null, 30);
+        assertThat(result.hasResult()).isFalse();
+
+        service.onMovementsCommitted(new MovementsPostedEvent(List.of()));
+        verify(repository, timeout(2000)).findVisibleHead();
+        Thread.sleep(100);
+        assertThat(result.hasResult()).isFalse();
+
+        when(repository.findVisibleHead()).thenReturn(Optional.of(new long[]{6, 9}));
+        when(repository.findAfter(5, 2, 100)).thenReturn(List.of(entry(6, 9, 20L)));
+        service.onMovementsCommitted(new MovementsPostedEvent(List.of()));
+
+        MovementFeedResponse page = awaitBody(result);
+        assertThat(page.getItens()).extracting("movimentacaoId").containsExactly(20L);
+        assertThat(page.getCursor()).isEqualTo(cursor(6, 9));
+    }
+
+    @Test
+    void longPollReturnsTheEmptyPageOnTimeout() throws Exception {
+        when(repository.findPurgedUpTo()).thenReturn(Optional.empty());
+        when(repository.findAfter(anyLong(), anyLong(), anyInt())).thenReturn(List.of());
+        MockMvc mockMvc = mockMvc();
+
+        MvcResult pending = mockMvc.perform(get("/api/movimentacoes/changes")
+                        .param("since", cursor(5, 2))
+                        .param("espera", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockAsyncContext asyncContext = (MockAsyncContext) pending.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(null);
+        }
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens").isEmpty())
+                .andExpect(jsonPath("$.cursor").value(cursor(5, 2)));
+    }
+
+    @Test
+    void cursorOlderThanThePurgedPositionIsGone() throws Exception {
+        when(repository.findPurgedUpTo()).thenReturn(Optional.of(new long[]{9, 4}));
+
+        mockMvc().perform(get("/api/movimentacoes/changes").param("since", cursor(5, 2)))
+                .andExpect(status().isGone());
+        verify(repository, never()).findAfter(eq(5L), eq(2L), anyInt());
+    }
+
+    @Test
+    void cursorAtThePurgedPositionKeepsReading() {
+        when(repository.findPurgedUpTo()).thenReturn(Optional.of(new long[]{9, 4}));
+        when(repository.findAfter(9, 4, 100)).thenReturn(List.of(entry(9, 5, 30L)));
+
+        MovementFeedResponse page = body(service.getChanges(cursor(9, 4), null, null));
+
+        assertThat(page.getItens()).extracting("movimentacaoId").containsExactly(30L);
+    }
+
+    private MockMvc mockMvc() {
+        return MockMvcBuilders.standaloneSetup(new MovementController(
+                        mock(MovementService.class), mock(MovementBatchService.class), mock(ExportService.class), service))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private MovementFeedResponse body(DeferredResult<ResponseEntity<MovementFeedResponse>> result) {
+        assertThat(result.hasResult()).isTrue();
+        return ((ResponseEntity<MovementFeedResponse>) result.getResult()).getBody();
+    }
+
+    private MovementFeedResponse awaitBody(DeferredResult<ResponseEntity<MovementFeedResponse>> result)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!result.hasResult() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return body(result);
+    }
+
+    private FeedEntry entry(long txId, long seq, Long movementId) {
+        return new FeedEntry(txId, seq, movementId, 1L, "ENTRADA", 1, LocalDateTime.now(), null, null, 1);
+    }
+
+    private String cursor(long txId, long seq) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((txId + "|" + seq).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,227 @@
+package com.nexdom.nexdomestoquechallenger.service;
+
+import com.nexdom.nexdomestoquechallenger.dto.projection.PostedMovement;
+import com.nexdom.nexdomestoquechallenger.dto.projection.ProductStockState;
+import com.nexdom.nexdomestoquechallenger.dto.request.MovementCreateRequest;
+import com.nexdom.nexdomestoquechallenger.dto.response.MovementResponse;
+import com.nexdom.nexdomestoquechallenger.enums.MovementType;
+import com.nexdom.nexdomestoquechallenger.event.ProductUpdatedEvent;
+import com.nexdom.nexdomestoquechallenger.exceptions.BusinessException;
+import com.nexdom.nexdomestoquechallenger.repository.MovementBatchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockLedgerEngineTest {
+
+    private final Map<Long, Integer> stock = new ConcurrentHashMap<>();
+    private final List<PostedMovement> inserted = Collections.synchronizedList(new ArrayList<>());
+    private final MovementBatchRepository repository = mock(MovementBatchRepository.class);
+    private final IdempotencyService idempotencyService = mock(IdempotencyService.class);
+    private final AtomicLong ids = new AtomicLong();
+    private StockLedgerEngine engine;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    void concurrentExitsNeverOversell() throws Exception {
+        stock.put(1L, 10);
+        engine = start(4, 10_000);
+
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add(clients.submit(() -> engine.submit(request(1L, MovementType.SAIDA, 1), null)));
+        }
+        int accepted = 0;
+        int rejected = 0;
+        for (Future<?> result : results) {
+            try {
+                result.get(10, TimeUnit.SECONDS);
+                accepted++;
+            } catch (java.util.concurrent.ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(BusinessException.class);
+                rejected++;
+            }
+        }
+        clients.shutdown();
+
+        assertThat(accepted).isEqualTo(10);
+        assertThat(rejected).isEqualTo(40);
+        assertThat(stock.get(1L)).isZero();
+        assertThat(inserted).extracting(PostedMovement::getResultingStock)
+                .containsExactlyInAnyOrder(9, 8, 7, 6, 5, 4, 3, 2, 1, 0);
+    }
+
+    @Test
+    void timedOutCommandIsCancelledBeforeItRuns() throws Exception {
+        stock.put(1L, 10);
+        stock.put(2L, 10);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        engine = start(1, 200);
+        doAnswer(invocation -> {
+            Collection<Long> requested = invocation.getArgument(0);
+            if (requested.contains(1L)) {
+                loading.countDown();
+                release.await();
+            }
+            return products(requested);
+        }).when(repository).findProducts(anyCollection());
+
+        ExecutorService client = Executors.newSingleThreadExecutor();
+        Future<PostedMovement> first = client.submit(() -> engine.submit(request(1L, MovementType.SAIDA, 1), null));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> engine.submit(request(2L, MovementType.SAIDA, 1), null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("não registrada");
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).getResultingStock()).isEqualTo(9);
+        engine.submit(request(1L, MovementType.SAIDA, 1), null);
+        client.shutdown();
+
+        assertThat(inserted).extracting(PostedMovement::getProductId).containsOnly(1L);
+        assertThat(stock.get(2L)).isEqualTo(10);
+    }
+
+    @Test
+    void productUpdateEvictsCachedCounter() {
+        stock.put(1L, 5);
+        engine = start(2, 10_000);
+
+        assertThat(engine.submit(request(1L, MovementType.SAIDA, 5), null).getResultingStock()).isZero();
+
+        stock.put(1L, 3);
+        engine.onProductUpdated(new ProductUpdatedEvent(1L));
+
+        assertThat(engine.submit(request(1L, MovementType.SAIDA, 3), null).getResultingStock()).isZero();
+        assertThatThrownBy(() -> engine.submit(request(1L, MovementType.SAIDA, 1), null))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void bulkSubmissionValidatesAgainstTheShardCounters() {
+        stock.put(1L, 3);
+        engine = start(2, 10_000);
+
+        List<MovementCreateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(request(1L, MovementType.SAIDA, 1));
+        }
+        List<CompletableFuture<PostedMovement>> results = engine.submitAll(requests);
+
+        assertThat(results).allMatch(CompletableFuture::isDone);
+        assertThat(results.stream().filter(result -> !result.isCompletedExceptionally()).count()).isEqualTo(3);
+        assertThat(stock.get(1L)).isZero();
+        assertThatThrownBy(() -> engine.submit(request(1L, MovementType.SAIDA, 1), null))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void idempotencyKeyIsRecordedInThePostingTransaction() {
+        stock.put(1L, 5);
+        engine = start(1, 10_000);
+        when(idempotencyService.fingerprint(any())).thenReturn("impressao");
+        when(idempotencyService.recordAll(eq(MovementService.IDEMPOTENCY_SCOPE), anyMap(), anyMap()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("repetida"));
+
+        PostedMovement posted = engine.submit(request(1L, MovementType.SAIDA, 1), "nova");
+        verify(idempotencyService).recordAll(MovementService.IDEMPOTENCY_SCOPE,
+                Map.of("nova", MovementResponse.of(posted)), Map.of("nova", "impressao"));
+
+        assertThatThrownBy(() -> engine.submit(request(1L, MovementType.SAIDA, 1), "repetida"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("repetida");
+    }
+
+    private StockLedgerEngine start(int shards, long timeoutMillis) {
+        when(repository.findProducts(anyCollection()))
+                .thenAnswer(invocation -> products(invocation.getArgument(0)));
+        when(repository.nextMovementIds(anyInt())).thenAnswer(invocation -> {
+            List<Long> next = new ArrayList<>();
+            for (int i = 0; i < (int) invocation.getArgument(0); i++) {
+                next.add(ids.incrementAndGet());
+            }
+            return next;
+        });
+        doAnswer(invocation -> inserted.addAll(invocation.getArgument(0)))
+                .when(repository).insertMovements(anyList());
+        when(repository.applyStockDeltas(anyMap(), any())).thenAnswer(invocation -> {
+            Map<Long, Integer> deltas = invocation.getArgument(0);
+            int[] counts = new int[deltas.size()];
+            int i = 0;
+            for (Map.Entry<Long, Integer> delta : deltas.entrySet()) {
+                int updated = stock.get(delta.getKey()) + delta.getValue();
+                if (updated >= 0) {
+                    stock.put(delta.getKey(), updated);
+                    counts[i] = 1;
+                }
+                i++;
+            }
+            return counts;
+        });
+
+        StockLedgerEngine ledger = new StockLedgerEngine(repository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), Optional.empty(),
+                mock(ApplicationEventPublisher.class), idempotencyService, shards, 64, 1000, 60_000, timeoutMillis);
+        ledger.start();
+        return ledger;
+    }
+
+    private Map<Long, ProductStockState> products(Collection<Long> productIds) {
+        Map<Long, ProductStockState> products = new ConcurrentHashMap<>();
+        productIds.forEach(id -> {
+            if (stock.containsKey(id)) {
+                products.put(id, new ProductStockState(id, "Produto " + id, 10.0, stock.get(id), 0));
+            }
+        });
+        return products;
+    }
+
+    private MovementCreateRequest request(Long productId, MovementType type, int quantity) {
+        MovementCreateRequest request = new MovementCreateRequest();
+        request.setProductId(productId);
+        request.setType(type);
+        request.setQuantity(quantity);
+        return request;
+    }
+}
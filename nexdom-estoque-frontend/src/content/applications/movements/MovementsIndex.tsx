@@ -1,5 +1,5 @@
 // MovementsIndex.tsx
-import { Card, CircularProgress } from '@mui/material';
+import { Box, Button, Card, CircularProgress } from '@mui/material';
 import { useEffect, useState } from 'react';
 import MovementsTable from './MovementsTable';
 
@@ -17,19 +17,27 @@ export interface Movement {
   updatedAt: string;
 }
 
+interface MovementPage {
+  itens: Movement[];
+  proximo: string | null;
+}
+
 function MovementsIndex() {
   const [movements, setMovements] = useState<Movement[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
 
-  const fetchMovements = async () => {
+  const fetchMovements = async (cursor?: string) => {
     try {
-      const response = await fetch(`http://localhost:8080/api/movimentacoes`);
+      const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : '';
+      const response = await fetch(`http://localhost:8080/api/movimentacoes${query}`);
       if (!response.ok) {
         throw new Error('Failed to fetch movements');
       }
-      const data = await response.json();
-      setMovements(data);
+      const data: MovementPage = await response.json();
+      setMovements((current) => (cursor ? [...current, ...data.itens] : data.itens));
+      setNextCursor(data.proximo);
     } catch (err) {
       setError(err.message);
     } finally {
@@ -52,6 +60,13 @@ function MovementsIndex() {
   return (
     <Card>
       <MovementsTable movements={movements} />
+      {nextCursor && (
+        <Box sx={{ p: 2, display: 'flex', justifyContent: 'center' }}>
+          <Button variant="outlined" onClick={() => fetchMovements(nextCursor)}>
+            Carregar mais
+          </Button>
+        </Box>
+      )}
     </Card>
   );
 }